@@ -0,0 +1,11 @@
+#!/usr/bin/env bash
+
+cd $(dirname $0)
+cd ../../
+
+JAR_FILE=$(ls target/reactor-aeron-benchmarks*.jar |grep jar)
+
+# Arguments are passed to JMH as is, e.g. benchmark regexp or -p messageLength=32
+java \
+    -cp ${JAR_FILE}:target/lib/* \
+    ${JVM_OPTS} reactor.aeron.jmh.BenchmarkRunner "$@"
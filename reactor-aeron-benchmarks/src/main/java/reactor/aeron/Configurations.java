@@ -2,6 +2,7 @@ package reactor.aeron;
 
 import io.aeron.Image;
 import io.aeron.Subscription;
+import java.time.Duration;
 import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.BusySpinIdleStrategy;
 import org.agrona.concurrent.IdleStrategy;
@@ -60,6 +61,8 @@ public interface Configurations {
    *   <li>{@link SleepingMillisIdleStrategy} - sleepingmillis/1
    *   <li>{@link YieldingIdleStrategy} - yielding
    *   <li>{@link NoOpIdleStrategy} - noop
+   *   <li>{@link AdaptiveIdleStrategy} - adaptive, or with max spin, max yield, min park and
+   *       max park in ns - adaptive/1000000/1000000/1000/1000000
    * </ul>
    *
    * @return idle strategy, {@link BusySpinIdleStrategy} - by default
@@ -83,6 +86,15 @@ public interface Configurations {
         return new YieldingIdleStrategy();
       case "noop":
         return new NoOpIdleStrategy();
+      case "adaptive":
+        if (chunks.length == 1) {
+          return new AdaptiveIdleStrategy();
+        }
+        return new AdaptiveIdleStrategy(
+            Duration.ofNanos(Long.parseLong(chunks[1])),
+            Duration.ofNanos(Long.parseLong(chunks[2])),
+            Duration.ofNanos(Long.parseLong(chunks[3])),
+            Duration.ofNanos(Long.parseLong(chunks[4])));
       default:
         return new BusySpinIdleStrategy();
     }
@@ -0,0 +1,100 @@
+package reactor.aeron.jmh;
+
+import io.aeron.driver.ThreadingMode;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.aeron.AeronInbound;
+import reactor.aeron.AeronOutbound;
+import reactor.aeron.DefaultFragmentMapper;
+import reactor.aeron.mdc.AeronResources;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+/**
+ * End-to-end {@link AeronOutbound#send} over IPC through {@link AeronResources} event loop. Every
+ * invocation sends {@link #MESSAGES} messages and waits until all of them are published, results
+ * are reported per message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dagrona.disable.bounds.checks=true")
+@State(Scope.Benchmark)
+public class AeronOutboundSendBenchmark {
+
+  private static final int STREAM_ID = 1;
+  private static final int MESSAGES = 1024;
+
+  @Param({"32", "256"})
+  public int messageLength;
+
+  private AeronResources resources;
+  private AeronOutbound outbound;
+  private Flux<DirectBuffer> messages;
+
+  /** Setup. */
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .media(mdc -> mdc.threadingMode(ThreadingMode.SHARED))
+            .start()
+            .block();
+
+    AeronInbound<DirectBuffer> inbound =
+        resources
+            .inbound(EmbeddedAeron.IPC_CHANNEL, STREAM_ID, new DefaultFragmentMapper())
+            .block();
+    inbound
+        .receive()
+        .subscribe(
+            new BaseSubscriber<DirectBuffer>() {
+              @Override
+              protected void hookOnNext(DirectBuffer value) {
+                blackhole.consume(value);
+              }
+            });
+
+    outbound = resources.outbound(EmbeddedAeron.IPC_CHANNEL, STREAM_ID).block();
+
+    UnsafeBuffer buffer =
+        new UnsafeBuffer(
+            BufferUtil.allocateDirectAligned(messageLength, BitUtil.CACHE_LINE_LENGTH));
+    DirectBuffer[] array = new DirectBuffer[MESSAGES];
+    Arrays.fill(array, buffer);
+    messages = Flux.fromArray(array);
+  }
+
+  @TearDown
+  public void tearDown() {
+    resources.dispose();
+    resources.onDispose().block();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(MESSAGES)
+  public void send() {
+    outbound.send(messages).then().block();
+  }
+}
@@ -0,0 +1,33 @@
+package reactor.aeron.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs JMH benchmarks of this package with allocation profiling ({@code gc} profiler) enabled.
+ * Accepts regular JMH command line options, e.g. a benchmark regexp.
+ */
+public class BenchmarkRunner {
+
+  /**
+   * Main runner.
+   *
+   * @param args JMH command line options
+   */
+  public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+    CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    OptionsBuilder builder = new OptionsBuilder();
+    if (commandLineOptions.getIncludes().isEmpty()) {
+      builder.include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark.*");
+    }
+    Options options = builder.parent(commandLineOptions).addProfiler(GCProfiler.class).build();
+
+    new Runner(options).run();
+  }
+}
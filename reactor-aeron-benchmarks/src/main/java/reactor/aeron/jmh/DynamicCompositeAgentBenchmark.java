@@ -0,0 +1,73 @@
+package reactor.aeron.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.agrona.concurrent.Agent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.aeron.DynamicCompositeAgent;
+
+/** Dispatch overhead of {@link DynamicCompositeAgent} duty cycle with N trivial agents. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DynamicCompositeAgentBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int agents;
+
+  private DynamicCompositeAgent compositeAgent;
+
+  /** Setup. */
+  @Setup
+  public void setUp() {
+    Agent[] array = new Agent[agents];
+    for (int i = 0; i < agents; i++) {
+      // every other agent reports some work, so that the sum can't be folded
+      array[i] = new ConstantWorkAgent(i & 1);
+    }
+    compositeAgent = new DynamicCompositeAgent("benchmark", array);
+    compositeAgent.onStart();
+  }
+
+  @TearDown
+  public void tearDown() {
+    compositeAgent.onClose();
+  }
+
+  @Benchmark
+  public int doWork() {
+    return compositeAgent.doWork();
+  }
+
+  private static class ConstantWorkAgent implements Agent {
+
+    private final int work;
+
+    private ConstantWorkAgent(int work) {
+      this.work = work;
+    }
+
+    @Override
+    public int doWork() {
+      return work;
+    }
+
+    @Override
+    public String roleName() {
+      return "constant-work-agent";
+    }
+  }
+}
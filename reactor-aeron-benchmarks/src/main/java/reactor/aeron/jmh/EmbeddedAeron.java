@@ -0,0 +1,49 @@
+package reactor.aeron.jmh;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import java.io.File;
+import java.util.UUID;
+import org.agrona.CloseHelper;
+import org.agrona.IoUtil;
+
+/** Embedded media driver along with aeron client for IPC benchmarks. */
+final class EmbeddedAeron implements AutoCloseable {
+
+  static final String IPC_CHANNEL = "aeron:ipc";
+
+  private final MediaDriver mediaDriver;
+  private final Aeron aeron;
+
+  private EmbeddedAeron(MediaDriver mediaDriver, Aeron aeron) {
+    this.mediaDriver = mediaDriver;
+    this.aeron = aeron;
+  }
+
+  static EmbeddedAeron start() {
+    String dir =
+        IoUtil.tmpDirName() + File.separator + "reactor-aeron-jmh-" + UUID.randomUUID();
+    MediaDriver mediaDriver =
+        MediaDriver.launch(
+            new MediaDriver.Context()
+                .aeronDirectoryName(dir)
+                .dirDeleteOnStart(true)
+                .dirDeleteOnShutdown(true)
+                .threadingMode(ThreadingMode.SHARED)
+                .spiesSimulateConnection(true));
+    Aeron aeron =
+        Aeron.connect(new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()));
+    return new EmbeddedAeron(mediaDriver, aeron);
+  }
+
+  Aeron aeron() {
+    return aeron;
+  }
+
+  @Override
+  public void close() {
+    CloseHelper.quietClose(aeron);
+    CloseHelper.quietClose(mediaDriver);
+  }
+}
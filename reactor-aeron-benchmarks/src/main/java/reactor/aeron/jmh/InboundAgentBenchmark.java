@@ -0,0 +1,137 @@
+package reactor.aeron.jmh;
+
+import io.aeron.Image;
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import java.util.concurrent.TimeUnit;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.aeron.AeronInbound;
+import reactor.aeron.DefaultFragmentMapper;
+import reactor.aeron.FlyweightFragmentMapper;
+import reactor.aeron.FragmentMapper;
+import reactor.aeron.ImageAgent;
+import reactor.aeron.SubscriptionAgent;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Duty cycle of {@link ImageAgent} and {@link SubscriptionAgent} with unbounded inbound
+ * subscriber. IPC publication is kept full by a background thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dagrona.disable.bounds.checks=true")
+@State(Scope.Benchmark)
+public class InboundAgentBenchmark {
+
+  private static final int STREAM_ID = 1;
+
+  @Param({"image", "subscription"})
+  public String agentType;
+
+  @Param({"default", "flyweight"})
+  public String mapperType;
+
+  @Param({"32", "256"})
+  public int messageLength;
+
+  @Param({"10", "256"})
+  public int fragmentLimit;
+
+  private EmbeddedAeron embeddedAeron;
+  private Agent agent;
+  private Thread publisher;
+  private volatile boolean running;
+
+  /** Setup. */
+  @Setup
+  public void setUp(Blackhole blackhole) {
+    embeddedAeron = EmbeddedAeron.start();
+
+    Subscription subscription =
+        embeddedAeron.aeron().addSubscription(EmbeddedAeron.IPC_CHANNEL, STREAM_ID);
+    Publication publication =
+        embeddedAeron.aeron().addExclusivePublication(EmbeddedAeron.IPC_CHANNEL, STREAM_ID);
+    while (!publication.isConnected() || subscription.imageCount() == 0) {
+      Thread.yield();
+    }
+
+    running = true;
+    publisher = new Thread(() -> publish(publication), "ipc-publisher");
+    publisher.setDaemon(true);
+    publisher.start();
+
+    FragmentMapper<DirectBuffer> mapper =
+        "flyweight".equals(mapperType)
+            ? new FlyweightFragmentMapper()
+            : new DefaultFragmentMapper();
+
+    AeronInbound<DirectBuffer> inbound;
+    if ("image".equals(agentType)) {
+      Image image = subscription.imageAtIndex(0);
+      ImageAgent<DirectBuffer> imageAgent =
+          new ImageAgent<>(image, mapper, true, -1, fragmentLimit, fragmentLimit);
+      agent = imageAgent;
+      inbound = imageAgent;
+    } else {
+      SubscriptionAgent<DirectBuffer> subscriptionAgent =
+          new SubscriptionAgent<>(subscription, mapper, true, fragmentLimit, fragmentLimit);
+      agent = subscriptionAgent;
+      inbound = subscriptionAgent;
+    }
+    agent.onStart();
+
+    inbound
+        .receive()
+        .subscribe(
+            new BaseSubscriber<DirectBuffer>() {
+              @Override
+              protected void hookOnNext(DirectBuffer value) {
+                blackhole.consume(value);
+              }
+            });
+  }
+
+  /** Tear down. */
+  @TearDown
+  public void tearDown() throws Exception {
+    running = false;
+    publisher.join();
+    agent.onClose();
+    embeddedAeron.close();
+  }
+
+  @Benchmark
+  public void doWork(MessageCounters counters) throws Exception {
+    counters.messages += agent.doWork();
+  }
+
+  private void publish(Publication publication) {
+    UnsafeBuffer buffer =
+        new UnsafeBuffer(
+            BufferUtil.allocateDirectAligned(messageLength, BitUtil.CACHE_LINE_LENGTH));
+    while (running) {
+      if (publication.offer(buffer) < 0) {
+        Thread.yield();
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package reactor.aeron.jmh;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts messages processed by duty cycles of agents, so that results are reported both per duty
+ * cycle and per message.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class MessageCounters {
+
+  public long messages;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    messages = 0;
+  }
+}
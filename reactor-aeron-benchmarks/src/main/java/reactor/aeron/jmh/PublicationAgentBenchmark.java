@@ -0,0 +1,112 @@
+package reactor.aeron.jmh;
+
+import io.aeron.Publication;
+import io.aeron.Subscription;
+import io.aeron.logbuffer.FragmentHandler;
+import java.util.concurrent.TimeUnit;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.aeron.DirectBufferWriters;
+import reactor.aeron.PublicationAgent;
+import reactor.aeron.PublicationOptions;
+import reactor.core.publisher.Flux;
+
+/**
+ * Duty cycle of {@link PublicationAgent} with a single endless send over IPC publication. The
+ * publication is drained by a background thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dagrona.disable.bounds.checks=true")
+@State(Scope.Benchmark)
+public class PublicationAgentBenchmark {
+
+  private static final int STREAM_ID = 1;
+
+  @Param({"32", "256"})
+  public int messageLength;
+
+  @Param({"offer", "claim"})
+  public String sendMode;
+
+  @Param({"0", "4096"})
+  public int batchMaxBytes;
+
+  private EmbeddedAeron embeddedAeron;
+  private PublicationAgent agent;
+  private Thread drainer;
+  private volatile boolean running;
+
+  /** Setup. */
+  @Setup
+  public void setUp() {
+    embeddedAeron = EmbeddedAeron.start();
+
+    Subscription subscription =
+        embeddedAeron.aeron().addSubscription(EmbeddedAeron.IPC_CHANNEL, STREAM_ID);
+    Publication publication =
+        embeddedAeron.aeron().addExclusivePublication(EmbeddedAeron.IPC_CHANNEL, STREAM_ID);
+    while (!publication.isConnected()) {
+      Thread.yield();
+    }
+
+    running = true;
+    drainer = new Thread(() -> drain(subscription), "publication-drainer");
+    drainer.setDaemon(true);
+    drainer.start();
+
+    agent =
+        new PublicationAgent(publication, new PublicationOptions().batchMaxBytes(batchMaxBytes));
+    agent.onStart();
+
+    UnsafeBuffer buffer =
+        new UnsafeBuffer(
+            BufferUtil.allocateDirectAligned(messageLength, BitUtil.CACHE_LINE_LENGTH));
+    Flux<DirectBuffer> messages = Flux.generate(sink -> sink.next(buffer));
+
+    if ("claim".equals(sendMode)) {
+      agent.send(messages, DirectBufferWriters.directBuffer()).then().subscribe();
+    } else {
+      agent.send(messages).then().subscribe();
+    }
+  }
+
+  /** Tear down. */
+  @TearDown
+  public void tearDown() throws InterruptedException {
+    running = false;
+    drainer.join();
+    agent.onClose();
+    embeddedAeron.close();
+  }
+
+  @Benchmark
+  public void doWork(MessageCounters counters) throws Exception {
+    counters.messages += agent.doWork();
+  }
+
+  private void drain(Subscription subscription) {
+    FragmentHandler handler = (buffer, offset, length, header) -> {};
+    while (running) {
+      if (subscription.poll(handler, 256) == 0) {
+        Thread.yield();
+      }
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.hints.ThreadHints;
+
+/**
+ * {@link IdleStrategy} which adapts to the observed inter-arrival time of work. After the last
+ * work it busy-spins for a window of two average gaps between idle period start and arrival of the
+ * next work, so the thread keeps spinning while traffic is flowing. If that window exceeds {@code
+ * maxSpin}, i.e. traffic is sparse, it doesn't spin at all and gives up the core right away. After
+ * the spin window it yields for {@code maxYield} and then parks with exponential backoff from
+ * {@code minPark} to {@code maxPark}.
+ *
+ * <p>Average gap is an exponentially weighted moving average updated once per idle period, so the
+ * strategy takes {@link System#nanoTime()} only while idle and once on the transition from idle to
+ * busy.
+ */
+public final class AdaptiveIdleStrategy implements IdleStrategy {
+
+  public static final Duration DEFAULT_MAX_SPIN = Duration.ofMillis(1);
+  public static final Duration DEFAULT_MAX_YIELD = Duration.ofMillis(1);
+  public static final Duration DEFAULT_MIN_PARK = Duration.ofNanos(1000);
+  public static final Duration DEFAULT_MAX_PARK = Duration.ofMillis(1);
+
+  // weight of the last gap is 1 / 2^GAP_WEIGHT_SHIFT
+  private static final int GAP_WEIGHT_SHIFT = 3;
+  private static final int SPIN_WINDOW_GAPS = 2;
+
+  private final long maxSpinNs;
+  private final long maxYieldNs;
+  private final long minParkNs;
+  private final long maxParkNs;
+
+  private boolean idling;
+  private long idleStartNs;
+  private long averageGapNs;
+  private long parkNs;
+
+  /** Creates strategy with default settings. */
+  public AdaptiveIdleStrategy() {
+    this(DEFAULT_MAX_SPIN, DEFAULT_MAX_YIELD, DEFAULT_MIN_PARK, DEFAULT_MAX_PARK);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param maxSpin max duration of busy-spin window
+   * @param maxYield duration of yielding after the spin window
+   * @param minPark initial park period
+   * @param maxPark max park period
+   */
+  public AdaptiveIdleStrategy(
+      Duration maxSpin, Duration maxYield, Duration minPark, Duration maxPark) {
+    this.maxSpinNs = maxSpin.toNanos();
+    this.maxYieldNs = maxYield.toNanos();
+    this.minParkNs = Math.max(1, minPark.toNanos());
+    this.maxParkNs = Math.max(minParkNs, maxPark.toNanos());
+    this.parkNs = minParkNs;
+  }
+
+  @Override
+  public void idle(int workCount) {
+    if (workCount > 0) {
+      if (idling) {
+        long gapNs = System.nanoTime() - idleStartNs;
+        averageGapNs += (gapNs - averageGapNs) >> GAP_WEIGHT_SHIFT;
+        idling = false;
+      }
+      return;
+    }
+    idle();
+  }
+
+  @Override
+  public void idle() {
+    long nowNs = System.nanoTime();
+    if (!idling) {
+      idling = true;
+      idleStartNs = nowNs;
+      parkNs = minParkNs;
+    }
+
+    long idleNs = nowNs - idleStartNs;
+    long spinWindowNs = spinWindowNs();
+    if (idleNs < spinWindowNs) {
+      ThreadHints.onSpinWait();
+    } else if (idleNs < spinWindowNs + maxYieldNs) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(parkNs);
+      parkNs = Math.min(parkNs << 1, maxParkNs);
+    }
+  }
+
+  @Override
+  public void reset() {
+    idling = false;
+    parkNs = minParkNs;
+  }
+
+  /**
+   * Returns current busy-spin window, i.e. a multiple of the average inter-arrival gap, or zero if
+   * it exceeds {@code maxSpin}.
+   *
+   * @return spin window in ns
+   */
+  public long spinWindowNs() {
+    long spinWindowNs = averageGapNs * SPIN_WINDOW_GAPS;
+    return spinWindowNs <= maxSpinNs ? spinWindowNs : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveIdleStrategy{"
+        + "maxSpinNs="
+        + maxSpinNs
+        + ", maxYieldNs="
+        + maxYieldNs
+        + ", minParkNs="
+        + minParkNs
+        + ", maxParkNs="
+        + maxParkNs
+        + ", averageGapNs="
+        + averageGapNs
+        + '}';
+  }
+}
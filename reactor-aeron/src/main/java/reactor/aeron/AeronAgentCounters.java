@@ -0,0 +1,116 @@
+package reactor.aeron;
+
+import io.aeron.Aeron;
+import io.aeron.Counter;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.Agent;
+
+/**
+ * {@link AgentMetrics} backed by aeron counters, which are allocated by the media driver and
+ * visible to {@code AeronStat}. Every agent gets four counters labeled with its role name and the
+ * name of its event loop: work count, total time spent in {@code doWork} (ns), max single {@code
+ * doWork} duration (ns) and removal cause ({@code 0} while agent is active, see {@link
+ * AgentMetrics.RemovalCause#code()}).
+ *
+ * <p>Counters of removed agents are closed, except removal cause counters of the last {@link
+ * #REMOVED_AGENTS_HISTORY} agents which are kept to let operators see why they were removed.
+ *
+ * <p>Note that counters are allocated and freed with a round trip to the media driver, so counters
+ * of removed agents are closed by the given executor rather than by the event loop thread.
+ */
+public final class AeronAgentCounters implements AgentMetrics {
+
+  public static final int WORK_COUNT_TYPE_ID = 1101;
+  public static final int WORK_TIME_TYPE_ID = 1102;
+  public static final int MAX_STALL_TYPE_ID = 1103;
+  public static final int REMOVAL_CAUSE_TYPE_ID = 1104;
+
+  public static final int REMOVED_AGENTS_HISTORY = 16;
+
+  private final Aeron aeron;
+  private final Executor closeExecutor;
+  private final ArrayDeque<Counter> removedAgents = new ArrayDeque<>(REMOVED_AGENTS_HISTORY);
+
+  AeronAgentCounters(Aeron aeron, Executor closeExecutor) {
+    this.aeron = aeron;
+    this.closeExecutor = closeExecutor;
+  }
+
+  @Override
+  public Recorder newRecorder(String compositeName, Agent agent) {
+    String suffix = ": " + agent.roleName() + " [" + compositeName + "]";
+    return new CountersRecorder(
+        aeron.addCounter(WORK_COUNT_TYPE_ID, "agent work count" + suffix),
+        aeron.addCounter(WORK_TIME_TYPE_ID, "agent work time ns" + suffix),
+        aeron.addCounter(MAX_STALL_TYPE_ID, "agent max stall ns" + suffix),
+        aeron.addCounter(REMOVAL_CAUSE_TYPE_ID, "agent removal cause" + suffix));
+  }
+
+  private void onRemoved(Counter removalCause) {
+    Counter evicted = null;
+    synchronized (removedAgents) {
+      if (removedAgents.size() == REMOVED_AGENTS_HISTORY) {
+        evicted = removedAgents.poll();
+      }
+      removedAgents.offer(removalCause);
+    }
+    CloseHelper.quietClose(evicted);
+  }
+
+  @Override
+  public String toString() {
+    return "AeronAgentCounters";
+  }
+
+  private class CountersRecorder implements Recorder {
+
+    private final Counter workCount;
+    private final Counter workTime;
+    private final Counter maxStall;
+    private final Counter removalCause;
+
+    private long maxDurationNs;
+
+    private CountersRecorder(
+        Counter workCount, Counter workTime, Counter maxStall, Counter removalCause) {
+      this.workCount = workCount;
+      this.workTime = workTime;
+      this.maxStall = maxStall;
+      this.removalCause = removalCause;
+    }
+
+    @Override
+    public void record(int workCount, long durationNs) {
+      if (workCount > 0) {
+        this.workCount.getAndAddOrdered(workCount);
+      }
+      workTime.getAndAddOrdered(durationNs);
+      if (durationNs > maxDurationNs) {
+        maxDurationNs = durationNs;
+        maxStall.setOrdered(durationNs);
+      }
+    }
+
+    @Override
+    public void close(RemovalCause cause) {
+      if (!removalCause.isClosed()) {
+        removalCause.setOrdered(cause.code());
+      }
+      try {
+        closeExecutor.execute(this::closeCounters);
+      } catch (RejectedExecutionException ignored) {
+        // executor is disposed together with aeron client, which frees all its counters
+      }
+    }
+
+    private void closeCounters() {
+      CloseHelper.quietCloseAll(workCount, workTime, maxStall);
+      if (!removalCause.isClosed()) {
+        onRemoved(removalCause);
+      }
+    }
+  }
+}
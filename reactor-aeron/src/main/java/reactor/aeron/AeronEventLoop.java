@@ -1,11 +1,17 @@
 package reactor.aeron;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ThreadFactory;
 import org.agrona.CloseHelper;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentRunner;
 import org.agrona.concurrent.IdleStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 
 public final class AeronEventLoop implements AutoCloseable {
 
@@ -13,6 +19,9 @@ public final class AeronEventLoop implements AutoCloseable {
 
   private final DynamicCompositeAgent agent;
   private final AgentRunner agentRunner;
+  private final SwitchableIdleStrategy idleStrategy;
+
+  private volatile StallDetector stallDetector;
 
   /**
    * Constructor.
@@ -26,6 +35,34 @@ public final class AeronEventLoop implements AutoCloseable {
     this(String.format("%s-%x-%d", name, groupId, workerId), idleStrategy);
   }
 
+  /**
+   * Constructor.
+   *
+   * @param name agent name
+   * @param workerId worker id
+   * @param groupId id of parent {@link AeronEventLoopGroup}
+   * @param idleStrategy {@link IdleStrategy} instance for this event loop
+   * @param threadFactory factory of event loop thread
+   * @param cpuAffinity binds event loop thread to cpu cores
+   */
+  AeronEventLoop(
+      String name,
+      int workerId,
+      int groupId,
+      IdleStrategy idleStrategy,
+      ThreadFactory threadFactory,
+      CpuAffinity cpuAffinity) {
+    this(
+        String.format("%s-%x-%d", name, groupId, workerId),
+        idleStrategy,
+        runnable ->
+            threadFactory.newThread(
+                () -> {
+                  cpuAffinity.bind(workerId);
+                  runnable.run();
+                }));
+  }
+
   /**
    * Constructor.
    *
@@ -33,10 +70,23 @@ public final class AeronEventLoop implements AutoCloseable {
    * @param idleStrategy {@link IdleStrategy} instance for this event loop
    */
   public AeronEventLoop(String name, IdleStrategy idleStrategy) {
+    this(name, idleStrategy, Thread::new);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param name agent name
+   * @param idleStrategy {@link IdleStrategy} instance for this event loop
+   * @param threadFactory factory of event loop thread, the thread is renamed to the agent name
+   */
+  public AeronEventLoop(String name, IdleStrategy idleStrategy, ThreadFactory threadFactory) {
     agent = new DynamicCompositeAgent(name);
+    this.idleStrategy = new SwitchableIdleStrategy(idleStrategy);
     agentRunner =
-        new AgentRunner(idleStrategy, th -> logger.error("Exception occurred: ", th), null, agent);
-    AgentRunner.startOnThread(agentRunner);
+        new AgentRunner(
+            this.idleStrategy, th -> logger.error("Exception occurred: ", th), null, agent);
+    AgentRunner.startOnThread(agentRunner, threadFactory);
   }
 
   /**
@@ -48,6 +98,213 @@ public final class AeronEventLoop implements AutoCloseable {
     agent.add(resource);
   }
 
+  /**
+   * Registers agent in event loop.
+   *
+   * @param resource aeron resource
+   * @param pinned whether the agent must stay in this event loop, i.e. it's never migrated by
+   *     {@link #migrateBusiest(AeronEventLoop)}
+   */
+  public void register(Agent resource, boolean pinned) {
+    agent.add(resource, pinned);
+  }
+
+  /**
+   * Registers agent in event loop.
+   *
+   * @param resource aeron resource
+   * @param pinned whether the agent must stay in this event loop, i.e. it's never migrated by
+   *     {@link #migrateBusiest(AeronEventLoop)}
+   * @param priority priority lane of the agent, see {@link AgentPriority}
+   */
+  public void register(Agent resource, boolean pinned, AgentPriority priority) {
+    agent.add(resource, pinned, priority);
+  }
+
+  /**
+   * Registers batch of agents in event loop, all of them are started in the same duty cycle.
+   *
+   * @param resources aeron resources
+   * @return mono which completes on event loop thread once the batch is applied
+   */
+  public Mono<Void> registerAll(Collection<? extends Agent> resources) {
+    return registerAll(resources, false);
+  }
+
+  /**
+   * Registers batch of agents in event loop, all of them are started in the same duty cycle.
+   *
+   * @param resources aeron resources
+   * @param pinned whether the agents must stay in this event loop, see {@link #register(Agent,
+   *     boolean)}
+   * @return mono which completes on event loop thread once the batch is applied
+   */
+  public Mono<Void> registerAll(Collection<? extends Agent> resources, boolean pinned) {
+    return registerAll(resources, pinned, AgentPriority.NORMAL);
+  }
+
+  /**
+   * Registers batch of agents in event loop, all of them are started in the same duty cycle.
+   *
+   * @param resources aeron resources
+   * @param pinned whether the agents must stay in this event loop, see {@link #register(Agent,
+   *     boolean)}
+   * @param priority priority lane of the agents, see {@link AgentPriority}
+   * @return mono which completes on event loop thread once the batch is applied
+   */
+  public Mono<Void> registerAll(
+      Collection<? extends Agent> resources, boolean pinned, AgentPriority priority) {
+    MonoProcessor<Void> result = MonoProcessor.create();
+    try {
+      agent.addAll(resources.toArray(new Agent[0]), pinned, priority, result::onComplete);
+    } catch (Exception ex) {
+      return Mono.error(ex);
+    }
+    return result;
+  }
+
+  /**
+   * Deregisters batch of agents from event loop, all of them are closed in the same duty cycle.
+   * Agents which are not registered in this event loop are ignored.
+   *
+   * @param resources aeron resources
+   * @return mono which completes on event loop thread once the batch is applied
+   */
+  public Mono<Void> deregisterAll(Collection<? extends Agent> resources) {
+    MonoProcessor<Void> result = MonoProcessor.create();
+    try {
+      agent.removeAll(resources.toArray(new Agent[0]), result::onComplete);
+    } catch (Exception ex) {
+      return Mono.error(ex);
+    }
+    return result;
+  }
+
+  /**
+   * Returns idle strategy of this event loop.
+   *
+   * @return idle strategy
+   */
+  public IdleStrategy idleStrategy() {
+    return idleStrategy.get();
+  }
+
+  /**
+   * Replaces idle strategy of this event loop at runtime, e.g. to switch between busy-spinning and
+   * {@link AdaptiveIdleStrategy}. New strategy is reset and used starting from the next idle call
+   * of event loop thread, it must not be shared with other event loops.
+   *
+   * @param idleStrategy idle strategy
+   */
+  public void idleStrategy(IdleStrategy idleStrategy) {
+    this.idleStrategy.switchTo(Objects.requireNonNull(idleStrategy, "idleStrategy"));
+  }
+
+  /**
+   * Sets max number of duty cycles between two runs of {@link AgentPriority#BULK} agents, see
+   * {@link DynamicCompositeAgent#bulkInterval(int)}.
+   *
+   * @param bulkInterval bulk interval, positive
+   */
+  public void bulkInterval(int bulkInterval) {
+    agent.bulkInterval(bulkInterval);
+  }
+
+  /**
+   * Enables per-agent instrumentation for agents which are registered after this call, see {@link
+   * DynamicCompositeAgent#agentMetrics(AgentMetrics)}.
+   *
+   * @param agentMetrics agent metrics, or null to disable instrumentation
+   */
+  public void agentMetrics(AgentMetrics agentMetrics) {
+    agent.agentMetrics(agentMetrics);
+  }
+
+  /**
+   * Enables duty cycle watchdog of this event loop, see {@link StallDetector}.
+   *
+   * @param threshold duration of duty cycle work which is considered a stall
+   * @param listener listener of stalls
+   * @return stall detector
+   */
+  public StallDetector detectStalls(Duration threshold, StallDetector.Listener listener) {
+    StallDetector stallDetector = new StallDetector(agent.roleName(), threshold, listener);
+    this.stallDetector = stallDetector;
+    agent.stallDetector(stallDetector);
+    return stallDetector;
+  }
+
+  /**
+   * Returns duty cycle watchdog of this event loop.
+   *
+   * @return stall detector, or null if detection is not enabled
+   */
+  public StallDetector stallDetector() {
+    return stallDetector;
+  }
+
+  /**
+   * Moves registered agent to another event loop without closing it, see {@link
+   * DynamicCompositeAgent#transfer(Agent, DynamicCompositeAgent)}.
+   *
+   * @param resource aeron resource
+   * @param target event loop to move the agent to
+   */
+  public void migrate(Agent resource, AeronEventLoop target) {
+    agent.transfer(resource, target.agent);
+  }
+
+  /**
+   * Moves the busiest agent to another event loop without closing it, see {@link
+   * DynamicCompositeAgent#transferBusiest(DynamicCompositeAgent)}.
+   *
+   * @param target event loop to move the agent to
+   */
+  public void migrateBusiest(AeronEventLoop target) {
+    agent.transferBusiest(target.agent);
+  }
+
+  /**
+   * Returns sum of work counts reported by the agents of this event loop since start.
+   *
+   * @return total work count
+   */
+  public long workCount() {
+    return agent.totalWork();
+  }
+
+  /**
+   * Returns number of duty cycles performed by this event loop since start.
+   *
+   * @return number of duty cycles
+   */
+  public long dutyCycles() {
+    return agent.dutyCycles();
+  }
+
+  /**
+   * Returns number of duty cycles in which agents of this event loop did some work.
+   *
+   * @return number of busy duty cycles
+   */
+  public long busyCycles() {
+    return agent.busyCycles();
+  }
+
+  /**
+   * Returns number of agents registered in this event loop.
+   *
+   * @return number of agents
+   */
+  public int agentCount() {
+    return agent.agentCount();
+  }
+
+  @Override
+  public String toString() {
+    return "AeronEventLoop{" + agent.roleName() + '}';
+  }
+
   @Override
   public void close() {
     CloseHelper.quietClose(agentRunner);
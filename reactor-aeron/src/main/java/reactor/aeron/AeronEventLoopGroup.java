@@ -1,22 +1,31 @@
 package reactor.aeron;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 import org.agrona.CloseHelper;
+import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.IdleStrategy;
+import reactor.core.publisher.Mono;
 
 /**
  * Wrapper around the {@link AeronEventLoop} where the actual logic is performed. Manages grouping
- * of multiple instances of {@link AeronEventLoop}: round-robin iteration and grouped disposal.
+ * of multiple instances of {@link AeronEventLoop}: placement of new agents (see {@link
+ * AeronEventLoopPlacement}) and grouped disposal.
  */
 public class AeronEventLoopGroup implements AutoCloseable {
 
   private final int id = System.identityHashCode(this);
   private final AeronEventLoop[] eventLoops;
-  private final AtomicInteger idx = new AtomicInteger();
+  private final AeronEventLoopPlacement placement;
 
   /**
-   * Constructor.
+   * Constructor. Event loops are chosen in round-robin fashion.
    *
    * @param name thread name
    * @param numOfWorkers number of {@link AeronEventLoop} instances in the group
@@ -24,25 +33,142 @@ public class AeronEventLoopGroup implements AutoCloseable {
    */
   public AeronEventLoopGroup(
       String name, int numOfWorkers, Supplier<IdleStrategy> workerIdleStrategySupplier) {
+    this(name, numOfWorkers, workerIdleStrategySupplier, AeronEventLoopPlacement.roundRobin());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param name thread name
+   * @param numOfWorkers number of {@link AeronEventLoop} instances in the group
+   * @param workerIdleStrategySupplier factory for {@link IdleStrategy} instances
+   * @param placement strategy of choosing event loop in {@link #next()}
+   */
+  public AeronEventLoopGroup(
+      String name,
+      int numOfWorkers,
+      Supplier<IdleStrategy> workerIdleStrategySupplier,
+      AeronEventLoopPlacement placement) {
+    this(
+        name,
+        numOfWorkers,
+        workerIdleStrategySupplier,
+        placement,
+        Thread::new,
+        CpuAffinity.none());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param name thread name
+   * @param numOfWorkers number of {@link AeronEventLoop} instances in the group
+   * @param workerIdleStrategySupplier factory for {@link IdleStrategy} instances
+   * @param placement strategy of choosing event loop in {@link #next()}
+   * @param threadFactory factory of worker threads
+   * @param cpuAffinity binds worker threads to cpu cores
+   */
+  public AeronEventLoopGroup(
+      String name,
+      int numOfWorkers,
+      Supplier<IdleStrategy> workerIdleStrategySupplier,
+      AeronEventLoopPlacement placement,
+      ThreadFactory threadFactory,
+      CpuAffinity cpuAffinity) {
+    this.placement = placement;
     this.eventLoops = new AeronEventLoop[numOfWorkers];
     for (int i = 0; i < numOfWorkers; i++) {
-      eventLoops[i] = new AeronEventLoop(name, i, id, workerIdleStrategySupplier.get());
+      eventLoops[i] =
+          new AeronEventLoop(
+              name, i, id, workerIdleStrategySupplier.get(), threadFactory, cpuAffinity);
     }
   }
 
   /**
-   * Get instance of worker from the group (round-robin iteration).
+   * Get instance of worker from the group, chosen by {@link AeronEventLoopPlacement}.
    *
    * @return instance of worker in the group
    */
   public AeronEventLoop next() {
-    return eventLoops[Math.abs(idx.getAndIncrement() % eventLoops.length)];
+    return placement.select(eventLoops);
   }
 
   public AeronEventLoop first() {
     return eventLoops[0];
   }
 
+  /**
+   * Registers batch of agents in the group. Every agent is placed on event loop chosen by {@link
+   * AeronEventLoopPlacement}, then agents are registered with one batch per event loop, see {@link
+   * AeronEventLoop#registerAll(Collection)}.
+   *
+   * @param resources aeron resources
+   * @return mono which completes once all batches are applied
+   */
+  public Mono<Void> registerAll(Collection<? extends Agent> resources) {
+    Map<AeronEventLoop, List<Agent>> batches = new IdentityHashMap<>();
+    for (Agent resource : resources) {
+      batches.computeIfAbsent(placement.select(eventLoops), key -> new ArrayList<>()).add(resource);
+    }
+    List<Mono<Void>> results = new ArrayList<>(batches.size());
+    batches.forEach((eventLoop, batch) -> results.add(eventLoop.registerAll(batch)));
+    return Mono.when(results);
+  }
+
+  /**
+   * Replaces idle strategies of all event loops of the group at runtime, see {@link
+   * AeronEventLoop#idleStrategy(IdleStrategy)}.
+   *
+   * @param idleStrategySupplier factory for {@link IdleStrategy} instances
+   */
+  public void idleStrategy(Supplier<IdleStrategy> idleStrategySupplier) {
+    for (AeronEventLoop eventLoop : eventLoops) {
+      eventLoop.idleStrategy(idleStrategySupplier.get());
+    }
+  }
+
+  /**
+   * Enables per-agent instrumentation in all event loops of the group, see {@link
+   * AeronEventLoop#agentMetrics(AgentMetrics)}.
+   *
+   * @param agentMetrics agent metrics, or null to disable instrumentation
+   */
+  public void agentMetrics(AgentMetrics agentMetrics) {
+    for (AeronEventLoop eventLoop : eventLoops) {
+      eventLoop.agentMetrics(agentMetrics);
+    }
+  }
+
+  /**
+   * Enables duty cycle watchdog in all event loops of the group, see {@link
+   * AeronEventLoop#detectStalls(Duration, StallDetector.Listener)}.
+   *
+   * @param threshold duration of duty cycle work which is considered a stall
+   * @param listener listener of stalls
+   */
+  public void detectStalls(Duration threshold, StallDetector.Listener listener) {
+    for (AeronEventLoop eventLoop : eventLoops) {
+      eventLoop.detectStalls(threshold, listener);
+    }
+  }
+
+  /**
+   * Flags duty cycles which are in progress longer than the threshold, see {@link
+   * StallDetector#checkInProgress()}. Meant to be called periodically.
+   */
+  public void checkStalls() {
+    for (AeronEventLoop eventLoop : eventLoops) {
+      StallDetector stallDetector = eventLoop.stallDetector();
+      if (stallDetector != null) {
+        stallDetector.checkInProgress();
+      }
+    }
+  }
+
+  AeronEventLoop[] eventLoops() {
+    return eventLoops;
+  }
+
   @Override
   public void close() {
     CloseHelper.quietCloseAll(eventLoops);
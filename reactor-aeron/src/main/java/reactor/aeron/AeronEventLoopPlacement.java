@@ -0,0 +1,57 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy of choosing {@link AeronEventLoop} of {@link AeronEventLoopGroup} for a new agent, see
+ * {@link AeronEventLoopGroup#next()}.
+ *
+ * <p>Implementations may keep state of the group they are attached to, so a new instance must be
+ * created for every group.
+ */
+@FunctionalInterface
+public interface AeronEventLoopPlacement {
+
+  Duration DEFAULT_SAMPLE_INTERVAL = Duration.ofMillis(100);
+
+  /**
+   * Chooses event loop for a new agent. Method may be called concurrently.
+   *
+   * @param eventLoops event loops of the group, must not be modified
+   * @return chosen event loop
+   */
+  AeronEventLoop select(AeronEventLoop[] eventLoops);
+
+  /**
+   * Returns strategy which iterates over event loops in round-robin fashion, regardless of their
+   * load.
+   *
+   * @return placement strategy
+   */
+  static AeronEventLoopPlacement roundRobin() {
+    AtomicInteger idx = new AtomicInteger();
+    return eventLoops -> eventLoops[Math.abs(idx.getAndIncrement() % eventLoops.length)];
+  }
+
+  /**
+   * Shortcut for {@code leastLoaded(DEFAULT_SAMPLE_INTERVAL)}.
+   *
+   * @return placement strategy
+   */
+  static AeronEventLoopPlacement leastLoaded() {
+    return leastLoaded(DEFAULT_SAMPLE_INTERVAL);
+  }
+
+  /**
+   * Returns strategy which chooses event loop with the least work done by its agents during the
+   * last sample interval (see {@link AeronEventLoop#workCount()}), event loop with fewer agents
+   * wins the tie.
+   *
+   * @param sampleInterval how often work counts of event loops are sampled
+   * @return placement strategy
+   */
+  static AeronEventLoopPlacement leastLoaded(Duration sampleInterval) {
+    return new LeastLoadedPlacement(sampleInterval.toNanos());
+  }
+}
@@ -0,0 +1,122 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Periodically moves agents off overloaded event loops of {@link AeronEventLoopGroup}. Load of
+ * event loop is its duty cycle: share of busy duty cycles (see {@link AeronEventLoop#busyCycles()})
+ * during the last interval. If the most loaded event loop exceeds the threshold and the least
+ * loaded one doesn't, the busiest agent of the former is migrated to the latter, see {@link
+ * AeronEventLoop#migrateBusiest(AeronEventLoop)}. At most one agent is migrated per interval, so
+ * load has time to settle before the next decision. Pinned agents (see {@link
+ * AeronEventLoop#register(org.agrona.concurrent.Agent, boolean)}) are never migrated.
+ */
+public final class AeronEventLoopRebalancer implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AeronEventLoopRebalancer.class);
+
+  private final AeronEventLoop[] eventLoops;
+  private final double threshold;
+  private final long[] lastDutyCycles;
+  private final long[] lastBusyCycles;
+  private final Disposable task;
+
+  /**
+   * Constructor. Rebalancing starts immediately on {@link Schedulers#single()}.
+   *
+   * @param group event loop group
+   * @param threshold duty cycle (between 0 and 1) above which event loop is overloaded
+   * @param interval rebalancing interval
+   */
+  public AeronEventLoopRebalancer(AeronEventLoopGroup group, double threshold, Duration interval) {
+    this(group, threshold, interval, Schedulers.single());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param group event loop group
+   * @param threshold duty cycle (between 0 and 1) above which event loop is overloaded
+   * @param interval rebalancing interval
+   * @param scheduler scheduler to run rebalancing on
+   */
+  public AeronEventLoopRebalancer(
+      AeronEventLoopGroup group, double threshold, Duration interval, Scheduler scheduler) {
+    if (threshold <= 0 || threshold > 1) {
+      throw new IllegalArgumentException("threshold must be in (0, 1]: " + threshold);
+    }
+    this.eventLoops = group.eventLoops();
+    this.threshold = threshold;
+    this.lastDutyCycles = new long[eventLoops.length];
+    this.lastBusyCycles = new long[eventLoops.length];
+    long intervalNs = interval.toNanos();
+    this.task =
+        scheduler.schedulePeriodically(
+            this::rebalance, intervalNs, intervalNs, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Samples duty cycles of event loops and migrates one agent if needed.
+   *
+   * @return whether migration was requested
+   */
+  public synchronized boolean rebalance() {
+    int hottest = -1;
+    int coldest = -1;
+    double hottestLoad = -1;
+    double coldestLoad = 2;
+
+    for (int i = 0; i < eventLoops.length; i++) {
+      AeronEventLoop eventLoop = eventLoops[i];
+      long dutyCycles = eventLoop.dutyCycles();
+      long busyCycles = eventLoop.busyCycles();
+      long cycles = dutyCycles - lastDutyCycles[i];
+      double load = cycles > 0 ? (double) (busyCycles - lastBusyCycles[i]) / cycles : 0;
+      lastDutyCycles[i] = dutyCycles;
+      lastBusyCycles[i] = busyCycles;
+
+      if (load > hottestLoad) {
+        hottest = i;
+        hottestLoad = load;
+      }
+      if (load < coldestLoad) {
+        coldest = i;
+        coldestLoad = load;
+      }
+    }
+
+    if (hottest < 0
+        || hottest == coldest
+        || hottestLoad <= threshold
+        || coldestLoad > threshold
+        || eventLoops[hottest].agentCount() < 2) {
+      return false;
+    }
+
+    logger.debug(
+        "Migrating busiest agent from {} (duty cycle: {}) to {} (duty cycle: {})",
+        eventLoops[hottest],
+        hottestLoad,
+        eventLoops[coldest],
+        coldestLoad);
+
+    try {
+      eventLoops[hottest].migrateBusiest(eventLoops[coldest]);
+      return true;
+    } catch (Exception ex) {
+      logger.warn("Failed to migrate agent from {}: {}", eventLoops[hottest], ex.toString());
+      return false;
+    }
+  }
+
+  @Override
+  public void close() {
+    task.dispose();
+  }
+}
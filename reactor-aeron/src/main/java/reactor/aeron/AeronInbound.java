@@ -5,4 +5,14 @@ import reactor.core.publisher.Flux;
 public interface AeronInbound<T> extends OnDisposable {
 
   Flux<T> receive();
+
+  /**
+   * Alternative to {@link #receive()} which emits all messages delivered by a single poll as one
+   * {@link FragmentBatch}, so per-message reactive overhead is paid once per poll. Demand is
+   * counted in batches. Emitted batch is reused, it's valid only during {@code onNext}. Only one
+   * of {@link #receive()} and {@code receiveBatches()} may be subscribed.
+   *
+   * @return flux of batches
+   */
+  Flux<FragmentBatch> receiveBatches();
 }
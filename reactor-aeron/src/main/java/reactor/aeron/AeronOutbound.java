@@ -1,12 +1,9 @@
 package reactor.aeron;
 
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscriber;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface AeronOutbound extends Publisher<Void>, OnDisposable {
@@ -23,6 +20,22 @@ public interface AeronOutbound extends Publisher<Void>, OnDisposable {
    */
   <B> AeronOutbound send(Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler);
 
+  /**
+   * Send data to the peer, listen for any error on write and close on terminal signal
+   * (complete|error). Unlike {@link #send(Publisher, DirectBufferHandler)} items are encoded
+   * directly into the claimed region of aeron term buffer (see {@link
+   * io.aeron.Publication#tryClaim}), so no intermediate {@link DirectBuffer} gets materialized.
+   * Items exceeding {@code maxPayloadLength} of the publication are encoded into a scratch buffer
+   * and offered as usual.
+   *
+   * @param <B> abstract buffer type (comes from client code)
+   * @param dataStream the dataStream publishing items to send
+   * @param bufferWriter abstract buffer writer
+   * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
+   *     successful sequence write or an error during write.
+   */
+  <B> AeronOutbound send(Publisher<B> dataStream, DirectBufferWriter<? super B> bufferWriter);
+
   /**
    * Send data to the peer, listen for any error on write and close on terminal signal
    * (complete|error).
@@ -44,10 +57,7 @@ public interface AeronOutbound extends Publisher<Void>, OnDisposable {
    *     successful sequence write or an error during write.
    */
   default AeronOutbound sendBytes(Publisher<byte[]> dataStream) {
-    if (dataStream instanceof Flux) {
-      return send(((Flux<byte[]>) dataStream).map(UnsafeBuffer::new));
-    }
-    return send(((Mono<byte[]>) dataStream).map(UnsafeBuffer::new));
+    return send(dataStream, DirectBufferWriters.bytes());
   }
 
   /**
@@ -59,16 +69,7 @@ public interface AeronOutbound extends Publisher<Void>, OnDisposable {
    *     successful sequence write or an error during write.
    */
   default AeronOutbound sendString(Publisher<String> dataStream) {
-    if (dataStream instanceof Flux) {
-      return send(
-          ((Flux<String>) dataStream)
-              .map(s -> s.getBytes(StandardCharsets.UTF_8))
-              .map(UnsafeBuffer::new));
-    }
-    return send(
-        ((Mono<String>) dataStream)
-            .map(s -> s.getBytes(StandardCharsets.UTF_8))
-            .map(UnsafeBuffer::new));
+    return send(dataStream, DirectBufferWriters.utf8());
   }
 
   /**
@@ -80,10 +81,7 @@ public interface AeronOutbound extends Publisher<Void>, OnDisposable {
    *     successful sequence write or an error during write.
    */
   default AeronOutbound sendBuffer(Publisher<ByteBuffer> dataStream) {
-    if (dataStream instanceof Flux) {
-      return send(((Flux<ByteBuffer>) dataStream).map(UnsafeBuffer::new));
-    }
-    return send(((Mono<ByteBuffer>) dataStream).map(UnsafeBuffer::new));
+    return send(dataStream, DirectBufferWriters.byteBuffer());
   }
 
   /**
@@ -26,6 +26,12 @@ final class AeronOutboundThen implements AeronOutbound {
     return source.send(dataStream, bufferHandler);
   }
 
+  @Override
+  public <B> AeronOutbound send(
+      Publisher<B> dataStream, DirectBufferWriter<? super B> bufferWriter) {
+    return source.send(dataStream, bufferWriter);
+  }
+
   @Override
   public AeronOutbound send(Publisher<DirectBuffer> dataStream) {
     return source.send(dataStream);
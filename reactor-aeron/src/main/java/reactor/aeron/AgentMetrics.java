@@ -0,0 +1,97 @@
+package reactor.aeron;
+
+import io.aeron.Aeron;
+import java.util.concurrent.Executor;
+import org.agrona.concurrent.Agent;
+
+/**
+ * Optional per-agent instrumentation of {@link DynamicCompositeAgent}, see {@link
+ * DynamicCompositeAgent#agentMetrics(AgentMetrics)}. A {@link Recorder} is created for every
+ * registered agent and receives the result and duration of each {@link Agent#doWork()} as well as
+ * the cause of removal of the agent.
+ */
+@FunctionalInterface
+public interface AgentMetrics {
+
+  /**
+   * Cause of removal of agent from {@link DynamicCompositeAgent}.
+   */
+  enum RemovalCause {
+    /** Agent returned negative work count. */
+    COMPLETED(1),
+
+    /**
+     * Agent threw exception from {@link Agent#doWork()}.
+     */
+    FAILED(2),
+
+    /**
+     * Agent was removed with {@link DynamicCompositeAgent#remove(Agent)}.
+     */
+    REMOVED(3),
+
+    /**
+     * Agent was moved to another composite. Not passed to {@link Recorder#close(RemovalCause)},
+     * since the recorder moves along with the agent.
+     */
+    TRANSFERRED(4),
+
+    /** Composite was closed. */
+    CLOSED(5);
+
+    private final int code;
+
+    RemovalCause(int code) {
+      this.code = code;
+    }
+
+    public int code() {
+      return code;
+    }
+  }
+
+  /**
+   * Per-agent recorder, it's invoked only by the thread of composite agent the agent belongs to. It
+   * moves along with the agent when the agent is transferred to another composite.
+   */
+  interface Recorder {
+
+    /**
+     * Records one invocation of {@link Agent#doWork()}.
+     *
+     * @param workCount work count returned by the agent, zero if it threw exception
+     * @param durationNs time spent in {@link Agent#doWork()}
+     */
+    void record(int workCount, long durationNs);
+
+    /**
+     * Records removal of the agent, the recorder is not used after that. Invoked on the thread of
+     * composite agent, hence it must not block.
+     *
+     * @param cause removal cause
+     */
+    void close(RemovalCause cause);
+  }
+
+  /**
+   * Creates recorder for the agent.
+   *
+   * @param compositeName role name of composite agent (i.e. event loop) the agent is added to
+   * @param agent agent
+   * @return recorder
+   */
+  Recorder newRecorder(String compositeName, Agent agent);
+
+  /**
+   * Returns metrics which are exposed as aeron counters, so they can be read out-of-process with
+   * {@code AeronStat}, see {@link AeronAgentCounters}.
+   *
+   * @param aeron aeron client
+   * @param closeExecutor executor which closes counters of removed agents, since closing is a
+   *     blocking round trip to the media driver which must not happen on the event loop thread
+   * @return agent metrics
+   */
+  static AgentMetrics aeronCounters(Aeron aeron, Executor closeExecutor) {
+    return new AeronAgentCounters(aeron, closeExecutor);
+  }
+}
@@ -0,0 +1,21 @@
+package reactor.aeron;
+
+/**
+ * Priority class of {@link org.agrona.concurrent.Agent} within {@link DynamicCompositeAgent}. Each
+ * class is kept in its own lane of the composite, lanes are run in the order of declaration.
+ */
+public enum AgentPriority {
+
+  /** Run every duty cycle before other lanes, e.g. control and heartbeat streams. */
+  HIGH,
+
+  /** Run every duty cycle, default for agents registered without priority. */
+  NORMAL,
+
+  /**
+   * Run only in duty cycles in which higher lanes did no work, and at least every Nth duty cycle so
+   * it's never starved, see {@link DynamicCompositeAgent#bulkInterval(int)}. E.g. bulk replication
+   * streams.
+   */
+  BULK
+}
@@ -0,0 +1,118 @@
+package reactor.aeron;
+
+import java.time.Duration;
+
+/**
+ * Decides what {@link PublicationAgent} does when {@link io.aeron.Publication} keeps returning
+ * {@code BACK_PRESSURED} for an item of a send. The policy is invoked on the event loop thread on
+ * every unsuccessful attempt, hence it must not block or allocate.
+ *
+ * <p>Result of {@link #onBackPressured(int, long, long)} is either non-negative number of
+ * nanoseconds the send should be parked for before the next attempt ({@link #RETRY} means the next
+ * duty cycle), or one of the negative action codes: {@link #DROP_OLDEST}, {@link #DROP_NEWEST},
+ * {@link #FAIL} and {@link #TERMINATE}.
+ */
+@FunctionalInterface
+public interface BackpressurePolicy {
+
+  /** Retry on the next duty cycle. */
+  long RETRY = 0;
+
+  /**
+   * Drop the oldest item of the send, i.e. the one which failed to be published, and continue with
+   * the next one.
+   */
+  long DROP_OLDEST = -1;
+
+  /**
+   * Keep retrying the oldest item of the send and drop items which arrive from upstream until it's
+   * published.
+   */
+  long DROP_NEWEST = -2;
+
+  /** Fail the send with an overflow error, other sends of the publication are not affected. */
+  long FAIL = -3;
+
+  /** Terminate publication agent, all sends of the publication fail. */
+  long TERMINATE = -4;
+
+  /**
+   * Returns action to take on unsuccessful attempt to publish an item.
+   *
+   * @param attempts number of unsuccessful attempts to publish the item so far
+   * @param elapsedNs time elapsed since the first attempt to publish the item
+   * @param timeoutNs configured backpressure timeout
+   * @return number of nanoseconds to park the send for, or one of the negative action codes
+   */
+  long onBackPressured(int attempts, long elapsedNs, long timeoutNs);
+
+  /**
+   * Returns policy which retries until backpressure timeout elapses and then terminates the
+   * publication agent. This is the default policy.
+   *
+   * @return policy
+   */
+  static BackpressurePolicy terminate() {
+    return new NamedBackpressurePolicy(
+        "terminate", (attempts, elapsedNs, timeoutNs) -> elapsedNs > timeoutNs ? TERMINATE : RETRY);
+  }
+
+  /**
+   * Returns policy which retries until backpressure timeout elapses and then fails only the
+   * affected send.
+   *
+   * @return policy
+   */
+  static BackpressurePolicy fail() {
+    return new NamedBackpressurePolicy(
+        "fail", (attempts, elapsedNs, timeoutNs) -> elapsedNs > timeoutNs ? FAIL : RETRY);
+  }
+
+  /**
+   * Returns policy which retries until backpressure timeout elapses and then drops items arriving
+   * from upstream while the oldest item is being retried.
+   *
+   * @return policy
+   */
+  static BackpressurePolicy dropNewest() {
+    return new NamedBackpressurePolicy(
+        "dropNewest",
+        (attempts, elapsedNs, timeoutNs) -> elapsedNs > timeoutNs ? DROP_NEWEST : RETRY);
+  }
+
+  /**
+   * Returns policy which retries until backpressure timeout elapses and then drops the item which
+   * can't be published.
+   *
+   * @return policy
+   */
+  static BackpressurePolicy dropOldest() {
+    return new NamedBackpressurePolicy(
+        "dropOldest",
+        (attempts, elapsedNs, timeoutNs) -> elapsedNs > timeoutNs ? DROP_OLDEST : RETRY);
+  }
+
+  /**
+   * Returns policy which parks the send between attempts with exponential backoff (starting from
+   * {@code minPark} and doubling up to {@code maxPark}) and fails the send once backpressure
+   * timeout elapses.
+   *
+   * @param minPark park duration after the first unsuccessful attempt
+   * @param maxPark max park duration
+   * @return policy
+   */
+  static BackpressurePolicy parkAndRetry(Duration minPark, Duration maxPark) {
+    long minParkNs = Math.max(1, minPark.toNanos());
+    long maxParkNs = Math.max(minParkNs, maxPark.toNanos());
+    int maxShift = 63 - Long.numberOfLeadingZeros(maxParkNs / minParkNs);
+    return new NamedBackpressurePolicy(
+        "parkAndRetry(" + minPark + ", " + maxPark + ")",
+        (attempts, elapsedNs, timeoutNs) -> {
+          if (elapsedNs > timeoutNs) {
+            return FAIL;
+          }
+          int shift = Math.min(attempts - 1, maxShift);
+          return Math.min(minParkNs << shift, maxParkNs);
+        });
+  }
+}
@@ -0,0 +1,181 @@
+package reactor.aeron;
+
+import java.nio.ByteBuffer;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+
+/**
+ * Pool of off-heap {@link PooledBuffer}s. Buffers are grouped into power of two size classes
+ * between {@code minCapacity} and {@code maxCapacity}, bigger buffers are allocated on demand and
+ * not pooled. Released buffers go to a small cache of the releasing thread first, and to a shared
+ * bounded cache once the thread cache is full; buffers which don't fit into both are left to GC.
+ *
+ * <p>Pool is thread-safe, buffers may be acquired and released on different threads.
+ */
+public final class BufferPool {
+
+  public static final int DEFAULT_MIN_CAPACITY = 64;
+  public static final int DEFAULT_MAX_CAPACITY = 64 * 1024;
+  public static final int DEFAULT_THREAD_CACHE_SIZE = 64;
+  public static final int DEFAULT_SHARED_CACHE_SIZE = 1024;
+
+  private final int minCapacityShift;
+  private final int maxCapacity;
+  private final int threadCacheSize;
+  private final ManyToManyConcurrentArrayQueue<PooledBuffer>[] sharedCaches;
+  private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(ThreadCache::new);
+
+  /** Creates buffer pool with default settings. */
+  public BufferPool() {
+    this(
+        DEFAULT_MIN_CAPACITY,
+        DEFAULT_MAX_CAPACITY,
+        DEFAULT_THREAD_CACHE_SIZE,
+        DEFAULT_SHARED_CACHE_SIZE);
+  }
+
+  /**
+   * Creates buffer pool.
+   *
+   * @param minCapacity capacity of the smallest size class, rounded up to power of two
+   * @param maxCapacity capacity of the biggest size class, rounded up to power of two
+   * @param threadCacheSize number of buffers of every size class cached per thread
+   * @param sharedCacheSize number of buffers of every size class cached for all threads
+   */
+  @SuppressWarnings("unchecked")
+  public BufferPool(int minCapacity, int maxCapacity, int threadCacheSize, int sharedCacheSize) {
+    if (minCapacity <= 0 || minCapacity > maxCapacity) {
+      throw new IllegalArgumentException(
+          "invalid capacity range: [" + minCapacity + ", " + maxCapacity + "]");
+    }
+    this.minCapacityShift =
+        Integer.numberOfTrailingZeros(BitUtil.findNextPositivePowerOfTwo(minCapacity));
+    this.maxCapacity = BitUtil.findNextPositivePowerOfTwo(maxCapacity);
+    this.threadCacheSize = threadCacheSize;
+
+    int sizeClasses = sizeClass(this.maxCapacity) + 1;
+    this.sharedCaches = new ManyToManyConcurrentArrayQueue[sizeClasses];
+    for (int i = 0; i < sizeClasses; i++) {
+      sharedCaches[i] = new ManyToManyConcurrentArrayQueue<>(Math.max(sharedCacheSize, 2));
+    }
+  }
+
+  /**
+   * Acquires buffer of the given length. Returned buffer has reference count of one and must be
+   * released with {@link PooledBuffer#release()}.
+   *
+   * @param length length of the buffer
+   * @return buffer
+   */
+  public PooledBuffer acquire(int length) {
+    if (length > maxCapacity) {
+      PooledBuffer buffer = new PooledBuffer(this, -1, allocate(length));
+      buffer.init(length);
+      return buffer;
+    }
+
+    int sizeClass = sizeClass(length);
+    PooledBuffer buffer = threadCaches.get().poll(sizeClass);
+    if (buffer == null) {
+      buffer = sharedCaches[sizeClass].poll();
+    }
+    if (buffer == null) {
+      buffer = new PooledBuffer(this, sizeClass, allocate(1 << (sizeClass + minCapacityShift)));
+    }
+    buffer.init(length);
+    return buffer;
+  }
+
+  /**
+   * Acquires buffer and copies content of the given buffer into it.
+   *
+   * @param source source buffer
+   * @return pooled copy of the source buffer
+   */
+  public PooledBuffer copy(DirectBuffer source) {
+    return copy(source, 0, source.capacity());
+  }
+
+  /**
+   * Acquires buffer and copies the given region of the given buffer into it.
+   *
+   * @param source source buffer
+   * @param offset offset in the source buffer
+   * @param length length of the region
+   * @return pooled copy of the region
+   */
+  public PooledBuffer copy(DirectBuffer source, int offset, int length) {
+    PooledBuffer buffer = acquire(length);
+    buffer.putBytes(0, source, offset, length);
+    return buffer;
+  }
+
+  void recycle(PooledBuffer buffer) {
+    int sizeClass = buffer.sizeClass();
+    if (sizeClass < 0) {
+      return;
+    }
+    if (!threadCaches.get().offer(sizeClass, buffer)) {
+      sharedCaches[sizeClass].offer(buffer);
+    }
+  }
+
+  private int sizeClass(int length) {
+    if (length <= 1 << minCapacityShift) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(length - 1) - minCapacityShift;
+  }
+
+  private static ByteBuffer allocate(int capacity) {
+    return BufferUtil.allocateDirectAligned(
+        BitUtil.align(Math.max(capacity, 1), BitUtil.CACHE_LINE_LENGTH),
+        BitUtil.CACHE_LINE_LENGTH);
+  }
+
+  @Override
+  public String toString() {
+    return "BufferPool{"
+        + "minCapacity="
+        + (1 << minCapacityShift)
+        + ", maxCapacity="
+        + maxCapacity
+        + ", threadCacheSize="
+        + threadCacheSize
+        + '}';
+  }
+
+  private class ThreadCache {
+
+    private final PooledBuffer[][] stacks = new PooledBuffer[sharedCaches.length][];
+    private final int[] sizes = new int[sharedCaches.length];
+
+    private PooledBuffer poll(int sizeClass) {
+      int size = sizes[sizeClass];
+      if (size == 0) {
+        return null;
+      }
+      PooledBuffer[] stack = stacks[sizeClass];
+      PooledBuffer buffer = stack[--size];
+      stack[size] = null;
+      sizes[sizeClass] = size;
+      return buffer;
+    }
+
+    private boolean offer(int sizeClass, PooledBuffer buffer) {
+      int size = sizes[sizeClass];
+      if (size == threadCacheSize) {
+        return false;
+      }
+      PooledBuffer[] stack = stacks[sizeClass];
+      if (stack == null) {
+        stack = stacks[sizeClass] = new PooledBuffer[threadCacheSize];
+      }
+      stack[size] = buffer;
+      sizes[sizeClass] = size + 1;
+      return true;
+    }
+  }
+}
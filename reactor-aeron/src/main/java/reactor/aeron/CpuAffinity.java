@@ -0,0 +1,59 @@
+package reactor.aeron;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Hook which binds {@link AeronEventLoop} threads to CPU cores. It's invoked on the event loop
+ * thread itself, before the thread starts running agents.
+ */
+@FunctionalInterface
+public interface CpuAffinity {
+
+  /**
+   * Binds current thread, which is event loop thread of the given worker, to CPU cores.
+   *
+   * @param workerId index of event loop in {@link AeronEventLoopGroup}
+   */
+  void bind(int workerId);
+
+  /**
+   * Returns affinity which leaves threads floating across all cores.
+   *
+   * @return cpu affinity
+   */
+  static CpuAffinity none() {
+    return workerId -> {
+      // no-op
+    };
+  }
+
+  /**
+   * Returns affinity which pins worker {@code i} to the single core {@code cpus[i % cpus.length]}.
+   * See {@link #cpuLists(String...)}.
+   *
+   * @param cpus core numbers per worker
+   * @return cpu affinity
+   */
+  static CpuAffinity cpus(int... cpus) {
+    return cpuLists(Arrays.stream(cpus).mapToObj(String::valueOf).toArray(String[]::new));
+  }
+
+  /**
+   * Returns affinity which binds worker {@code i} to the cores of {@code cpuLists[i %
+   * cpuLists.length]}, given in {@code taskset} list format, e.g. {@code "2"} or {@code
+   * "4-5,8"}. Affinity is applied on Linux only, by running {@code taskset} against id of the
+   * event loop thread taken from {@code /proc/thread-self}; failures are logged and don't prevent
+   * event loop from starting.
+   *
+   * @param cpuLists core lists per worker
+   * @return cpu affinity
+   */
+  static CpuAffinity cpuLists(String... cpuLists) {
+    if (cpuLists.length == 0) {
+      throw new IllegalArgumentException("cpuLists must not be empty");
+    }
+    return new TasksetCpuAffinity(
+        Arrays.stream(cpuLists).map(String::trim).collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,37 @@
+package reactor.aeron;
+
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Encoder which writes abstract buffer (comes from client code) straight into the given region,
+ * without materializing intermediate {@link org.agrona.DirectBuffer}. Used along with {@link
+ * io.aeron.Publication#tryClaim(int, io.aeron.logbuffer.BufferClaim)}, so that region is a
+ * claimed part of aeron term buffer.
+ *
+ * @param <B> abstract buffer type (comes from client code)
+ */
+public interface DirectBufferWriter<B> {
+
+  /**
+   * Returns exact number of bytes which {@link #write(Object, MutableDirectBuffer, int)} would
+   * write for the given buffer.
+   *
+   * @param buffer abstract buffer
+   * @return encoded length in bytes
+   */
+  int length(B buffer);
+
+  /**
+   * Writes the given buffer into the destination. Writer must not write more than {@link
+   * #length(Object)} bytes.
+   *
+   * @param buffer abstract buffer
+   * @param destination destination buffer
+   * @param offset offset in the destination at which writing begins
+   */
+  void write(B buffer, MutableDirectBuffer destination, int offset);
+
+  default void dispose(B buffer) {
+    // no-op
+  }
+}
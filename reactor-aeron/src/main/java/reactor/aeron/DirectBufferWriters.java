@@ -0,0 +1,188 @@
+package reactor.aeron;
+
+import java.nio.ByteBuffer;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Allocation-free {@link DirectBufferWriter}s of common types. Writers encode items straight into
+ * the destination (claimed region of aeron term buffer, batch or scratch buffer of publication
+ * agent), without intermediate {@code byte[]} or buffer wrappers.
+ */
+public final class DirectBufferWriters {
+
+  private static final byte REPLACEMENT = '?';
+
+  private static final DirectBufferWriter<CharSequence> UTF8 =
+      new DirectBufferWriter<CharSequence>() {
+        @Override
+        public int length(CharSequence buffer) {
+          return utf8Length(buffer);
+        }
+
+        @Override
+        public void write(CharSequence buffer, MutableDirectBuffer destination, int offset) {
+          writeUtf8(buffer, destination, offset);
+        }
+      };
+
+  private static final DirectBufferWriter<CharSequence> ASCII =
+      new DirectBufferWriter<CharSequence>() {
+        @Override
+        public int length(CharSequence buffer) {
+          return buffer.length();
+        }
+
+        @Override
+        public void write(CharSequence buffer, MutableDirectBuffer destination, int offset) {
+          for (int i = 0, length = buffer.length(); i < length; i++) {
+            char c = buffer.charAt(i);
+            destination.putByte(offset + i, c < 0x80 ? (byte) c : REPLACEMENT);
+          }
+        }
+      };
+
+  private static final DirectBufferWriter<byte[]> BYTES =
+      new DirectBufferWriter<byte[]>() {
+        @Override
+        public int length(byte[] buffer) {
+          return buffer.length;
+        }
+
+        @Override
+        public void write(byte[] buffer, MutableDirectBuffer destination, int offset) {
+          destination.putBytes(offset, buffer);
+        }
+      };
+
+  private static final DirectBufferWriter<ByteBuffer> BYTE_BUFFER =
+      new DirectBufferWriter<ByteBuffer>() {
+        @Override
+        public int length(ByteBuffer buffer) {
+          return buffer.capacity();
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, MutableDirectBuffer destination, int offset) {
+          destination.putBytes(offset, buffer, 0, buffer.capacity());
+        }
+      };
+
+  private static final DirectBufferWriter<DirectBuffer> DIRECT_BUFFER =
+      new DirectBufferWriter<DirectBuffer>() {
+        @Override
+        public int length(DirectBuffer buffer) {
+          return buffer.capacity();
+        }
+
+        @Override
+        public void write(DirectBuffer buffer, MutableDirectBuffer destination, int offset) {
+          destination.putBytes(offset, buffer, 0, buffer.capacity());
+        }
+      };
+
+  private DirectBufferWriters() {
+    // Do not instantiate
+  }
+
+  /**
+   * Returns writer which encodes char sequences in UTF-8. Malformed surrogate pairs are replaced
+   * with {@code '?'}, as {@link String#getBytes(java.nio.charset.Charset)} does.
+   *
+   * @return writer
+   */
+  public static DirectBufferWriter<CharSequence> utf8() {
+    return UTF8;
+  }
+
+  /**
+   * Returns writer which encodes char sequences in US-ASCII. Non-ASCII chars are replaced with
+   * {@code '?'}.
+   *
+   * @return writer
+   */
+  public static DirectBufferWriter<CharSequence> ascii() {
+    return ASCII;
+  }
+
+  /**
+   * Returns writer of byte arrays.
+   *
+   * @return writer
+   */
+  public static DirectBufferWriter<byte[]> bytes() {
+    return BYTES;
+  }
+
+  /**
+   * Returns writer of byte buffers. The whole buffer (from zero to its capacity) is written,
+   * regardless of position and limit.
+   *
+   * @return writer
+   */
+  public static DirectBufferWriter<ByteBuffer> byteBuffer() {
+    return BYTE_BUFFER;
+  }
+
+  /**
+   * Returns writer of direct buffers.
+   *
+   * @return writer
+   */
+  public static DirectBufferWriter<DirectBuffer> directBuffer() {
+    return DIRECT_BUFFER;
+  }
+
+  private static int utf8Length(CharSequence value) {
+    int length = value.length();
+    int result = length;
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        result += 1;
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        // 4 bytes for 2 chars
+        result += 2;
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        // malformed, replaced with 1 byte
+        continue;
+      } else {
+        result += 2;
+      }
+    }
+    return result;
+  }
+
+  private static void writeUtf8(CharSequence value, MutableDirectBuffer destination, int offset) {
+    int index = offset;
+    for (int i = 0, length = value.length(); i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 0x80) {
+        destination.putByte(index++, (byte) c);
+      } else if (c < 0x800) {
+        destination.putByte(index++, (byte) (0xC0 | (c >> 6)));
+        destination.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+      } else if (Character.isHighSurrogate(c)
+          && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        destination.putByte(index++, (byte) (0xF0 | (codePoint >> 18)));
+        destination.putByte(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        destination.putByte(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        destination.putByte(index++, (byte) (0x80 | (codePoint & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        destination.putByte(index++, REPLACEMENT);
+      } else {
+        destination.putByte(index++, (byte) (0xE0 | (c >> 12)));
+        destination.putByte(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+        destination.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+      }
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package reactor.aeron;
+
+import org.agrona.concurrent.Agent;
+
+/**
+ * Runs inbound and outbound agents of a connection as a single {@link Agent}, so both halves of
+ * the connection are always served by the same event loop thread, also after migration to another
+ * event loop. Half which returns negative result or throws is closed and is not run anymore, the
+ * duplex agent completes once both halves are closed.
+ */
+public final class DuplexAgent implements Agent {
+
+  private final Agent inbound;
+  private final Agent outbound;
+
+  private boolean inboundClosed;
+  private boolean outboundClosed;
+
+  /**
+   * Constructor.
+   *
+   * @param inbound inbound agent
+   * @param outbound outbound agent
+   */
+  public DuplexAgent(Agent inbound, Agent outbound) {
+    this.inbound = inbound;
+    this.outbound = outbound;
+  }
+
+  @Override
+  public void onStart() {
+    inbound.onStart();
+    outbound.onStart();
+  }
+
+  @Override
+  public int doWork() {
+    int workCount = 0;
+    if (!inboundClosed) {
+      try {
+        int result = inbound.doWork();
+        if (result < 0) {
+          inboundClosed = close(inbound);
+        } else {
+          workCount += result;
+        }
+      } catch (Throwable th) {
+        inboundClosed = close(inbound);
+      }
+    }
+    if (!outboundClosed) {
+      try {
+        int result = outbound.doWork();
+        if (result < 0) {
+          outboundClosed = close(outbound);
+        } else {
+          workCount += result;
+        }
+      } catch (Throwable th) {
+        outboundClosed = close(outbound);
+      }
+    }
+    return inboundClosed && outboundClosed ? -1 : workCount;
+  }
+
+  @Override
+  public void onClose() {
+    if (!inboundClosed) {
+      inboundClosed = close(inbound);
+    }
+    if (!outboundClosed) {
+      outboundClosed = close(outbound);
+    }
+  }
+
+  @Override
+  public String roleName() {
+    return "duplex:[" + inbound.roleName() + ", " + outbound.roleName() + "]";
+  }
+
+  private static boolean close(Agent agent) {
+    try {
+      agent.onClose();
+    } catch (Throwable ignored) {
+      // ignore
+    }
+    return true;
+  }
+}
@@ -1,18 +1,38 @@
 package reactor.aeron;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Objects;
-import java.util.Queue;
-import org.agrona.collections.ArrayListUtil;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import org.agrona.concurrent.Agent;
-import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
+import org.agrona.concurrent.AgentTerminationException;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+import reactor.aeron.AgentMetrics.Recorder;
+import reactor.aeron.AgentMetrics.RemovalCause;
 
 /**
  * Group several {@link Agent}s into one composite so they can be scheduled as a unit.
  *
  * <p>{@link Agent}s can be dynamically added and removed.
  *
+ * <p>Agents are kept in a plain array in the order they were added, removing an agent preserves
+ * the order of the rest. Every duty cycle starts from the next agent in turn, so no agent always
+ * runs behind all the others. Commands (add, remove, transfer) reach the duty cycle through a
+ * bounded queue of reusable command objects and don't allocate in steady state. Batches of agents
+ * can be added or removed with one command, see {@link #addAll(Agent[], boolean, Runnable)}.
+ *
+ * <p>Every agent belongs to a priority lane, see {@link AgentPriority}. {@link
+ * AgentPriority#HIGH} and {@link AgentPriority#NORMAL} lanes are run every duty cycle, {@link
+ * AgentPriority#BULK} lane is run only when other lanes did no work or every {@link
+ * #bulkInterval(int)} duty cycles.
+ *
+ * <p>Composite keeps load statistics ({@link #totalWork()}, {@link #dutyCycles()}, {@link
+ * #busyCycles()} and {@link #agentCount()}) which may be read from any thread, e.g. to place new
+ * agents on the least loaded composite. Started agents can be moved to another composite without
+ * being closed, see {@link #transfer(Agent, DynamicCompositeAgent)}.
+ *
  * <p><b>Note:</b> This class is thread-safe for add and remove.
  */
 public class DynamicCompositeAgent implements Agent {
@@ -28,21 +48,61 @@ public class DynamicCompositeAgent implements Agent {
     CLOSED
   }
 
+  public static final int DEFAULT_COMMAND_QUEUE_CAPACITY = 1024;
+  public static final int DEFAULT_BULK_INTERVAL = 8;
+
+  private static final int INITIAL_CAPACITY = 8;
+  private static final int PREALLOCATED_COMMANDS = 64;
+
+  private static final AgentPriority[] PRIORITIES = AgentPriority.values();
+
+  private static final AtomicLongFieldUpdater<DynamicCompositeAgent> TOTAL_WORK =
+      AtomicLongFieldUpdater.newUpdater(DynamicCompositeAgent.class, "totalWork");
+  private static final AtomicLongFieldUpdater<DynamicCompositeAgent> DUTY_CYCLES =
+      AtomicLongFieldUpdater.newUpdater(DynamicCompositeAgent.class, "dutyCycles");
+  private static final AtomicLongFieldUpdater<DynamicCompositeAgent> BUSY_CYCLES =
+      AtomicLongFieldUpdater.newUpdater(DynamicCompositeAgent.class, "busyCycles");
+  private static final AtomicIntegerFieldUpdater<DynamicCompositeAgent> AGENT_COUNT =
+      AtomicIntegerFieldUpdater.newUpdater(DynamicCompositeAgent.class, "agentCount");
+
   private final String roleName;
 
-  private final Queue<Runnable> commands = new ManyToOneConcurrentLinkedQueue<>();
-  private final ArrayList<Agent> agents;
+  private final ManyToOneConcurrentArrayQueue<Command> commands;
+  // processed commands, reused by producers
+  private final ManyToManyConcurrentArrayQueue<Command> freeCommands;
+
+  // indexes match ordinals of AgentPriority
+  private final Lane[] lanes = new Lane[PRIORITIES.length];
+
+  // state of the current duty cycle, shared by lanes
+  private StallDetector cycleStallDetector;
+  private boolean cycleTimed;
+  private long cycleTime;
+  private long slowestNs;
+  private Agent slowestAgent;
+
+  private volatile Thread thread;
+
+  private volatile AgentMetrics agentMetrics;
+  private volatile StallDetector stallDetector;
+  private volatile int bulkInterval = DEFAULT_BULK_INTERVAL;
 
   private volatile Status status = Status.INIT;
 
+  // written only by the agent thread, published with ordered stores
+  private volatile long totalWork;
+  private volatile long dutyCycles;
+  private volatile long busyCycles;
+
+  private volatile int agentCount;
+
   /**
    * Construct a new composite that has no {@link Agent}s to begin with.
    *
    * @param roleName to be given for {@link Agent#roleName()}.
    */
   public DynamicCompositeAgent(String roleName) {
-    this.roleName = roleName;
-    this.agents = new ArrayList<>();
+    this(roleName, DEFAULT_COMMAND_QUEUE_CAPACITY);
   }
 
   /**
@@ -53,12 +113,7 @@ public class DynamicCompositeAgent implements Agent {
    * @throws NullPointerException if the array or any element is null
    */
   public DynamicCompositeAgent(String roleName, Collection<? extends Agent> agents) {
-    this.roleName = roleName;
-    this.agents = new ArrayList<>(agents.size());
-    for (Agent agent : agents) {
-      Objects.requireNonNull(agent, "agent cannot be null");
-      this.agents.add(agent);
-    }
+    this(roleName, DEFAULT_COMMAND_QUEUE_CAPACITY, agents.toArray(new Agent[0]));
   }
 
   /**
@@ -69,12 +124,37 @@ public class DynamicCompositeAgent implements Agent {
    * @throws NullPointerException if the array or any element is null
    */
   public DynamicCompositeAgent(String roleName, Agent... agents) {
+    this(roleName, DEFAULT_COMMAND_QUEUE_CAPACITY, agents);
+  }
+
+  /**
+   * Construct a new composite with one or several {@link Agent}s of {@link AgentPriority#NORMAL}
+   * priority.
+   *
+   * @param roleName to be given for {@link Agent#roleName()}.
+   * @param commandQueueCapacity max number of commands pending till the next duty cycle, callers
+   *     from other threads wait for a free slot when it's exceeded
+   * @param agents the parts of this composite, no null agents allowed
+   * @throws NullPointerException if the array or any element is null
+   */
+  public DynamicCompositeAgent(String roleName, int commandQueueCapacity, Agent... agents) {
     this.roleName = roleName;
-    this.agents = new ArrayList<>(agents.length);
+    this.commands = new ManyToOneConcurrentArrayQueue<>(commandQueueCapacity);
+    this.freeCommands = new ManyToManyConcurrentArrayQueue<>(commandQueueCapacity);
+    for (int i = 0, n = Math.min(PREALLOCATED_COMMANDS, commandQueueCapacity); i < n; i++) {
+      freeCommands.offer(new Command());
+    }
+
+    for (AgentPriority priority : PRIORITIES) {
+      int capacity = priority == AgentPriority.NORMAL ? agents.length : 0;
+      lanes[priority.ordinal()] = new Lane(priority, Math.max(capacity, INITIAL_CAPACITY));
+    }
+    Lane lane = lanes[AgentPriority.NORMAL.ordinal()];
     for (Agent agent : agents) {
       Objects.requireNonNull(agent, "agent cannot be null");
-      this.agents.add(agent);
+      lane.append(agent, false, null);
     }
+    this.agentCount = agents.length;
   }
 
   /**
@@ -86,10 +166,89 @@ public class DynamicCompositeAgent implements Agent {
     return status;
   }
 
+  /**
+   * Returns sum of work counts reported by the agents since start, see {@link Agent#doWork()}.
+   *
+   * @return total work count
+   */
+  public long totalWork() {
+    return totalWork;
+  }
+
+  /**
+   * Returns number of {@link #doWork()} duty cycles since start.
+   *
+   * @return number of duty cycles
+   */
+  public long dutyCycles() {
+    return dutyCycles;
+  }
+
+  /**
+   * Returns number of {@link #doWork()} duty cycles since start in which agents did some work.
+   *
+   * @return number of busy duty cycles
+   */
+  public long busyCycles() {
+    return busyCycles;
+  }
+
+  /**
+   * Returns number of agents in the composite, including ones which are being added.
+   *
+   * @return number of agents
+   */
+  public int agentCount() {
+    return agentCount;
+  }
+
+  /**
+   * Enables per-agent instrumentation for agents which are added after this call.
+   *
+   * @param agentMetrics agent metrics, or null to disable instrumentation
+   */
+  public void agentMetrics(AgentMetrics agentMetrics) {
+    this.agentMetrics = agentMetrics;
+  }
+
+  /**
+   * Sets duty cycle watchdog.
+   *
+   * @param stallDetector stall detector, or null to disable detection
+   */
+  public void stallDetector(StallDetector stallDetector) {
+    this.stallDetector = stallDetector;
+  }
+
+  /**
+   * Returns max number of duty cycles between two runs of {@link AgentPriority#BULK} lane.
+   *
+   * @return bulk interval
+   */
+  public int bulkInterval() {
+    return bulkInterval;
+  }
+
+  /**
+   * Sets max number of duty cycles between two runs of {@link AgentPriority#BULK} lane, the lane is
+   * also run in every duty cycle in which other lanes did no work. Value of 1 runs the lane every
+   * duty cycle.
+   *
+   * @param bulkInterval bulk interval, positive
+   */
+  public void bulkInterval(int bulkInterval) {
+    if (bulkInterval < 1) {
+      throw new IllegalArgumentException("bulkInterval must be positive: " + bulkInterval);
+    }
+    this.bulkInterval = bulkInterval;
+  }
+
   @Override
   public void onStart() {
-    for (Agent agent : agents) {
-      agent.onStart();
+    thread = Thread.currentThread();
+
+    for (Lane lane : lanes) {
+      lane.onStart();
     }
 
     status = Status.ACTIVE;
@@ -97,27 +256,46 @@ public class DynamicCompositeAgent implements Agent {
 
   @Override
   public int doWork() {
-    int workCount = 0;
+    StallDetector stallDetector = this.stallDetector;
+    boolean instrumented = agentMetrics != null;
+    boolean timed = instrumented || stallDetector != null;
+    long time = timed ? System.nanoTime() : 0;
+    if (stallDetector != null) {
+      stallDetector.onCycleStart(time);
+    }
 
     processCommands();
 
-    ArrayList<Agent> agents = this.agents;
-    for (int lastIndex = agents.size() - 1, i = lastIndex; i >= 0; i--) {
-      Agent agent = agents.get(i);
-      try {
-        int result = agent.doWork();
-        if (result > 0) {
-          workCount += result;
-        }
-        if (result < 0) {
-          ArrayListUtil.fastUnorderedRemove(agents, i, lastIndex--);
-          safetyClose(agent);
-        }
-      } catch (Throwable th) {
-        ArrayListUtil.fastUnorderedRemove(agents, i, lastIndex--);
-        safetyClose(agent);
-      }
+    cycleStallDetector = stallDetector;
+    cycleTimed = timed;
+    slowestAgent = null;
+    slowestNs = 0;
+    if (timed) {
+      // time spent in commands (e.g. in onStart of added agents) is attributed to the composite
+      long now = System.nanoTime();
+      slowestNs = now - time;
+      time = now;
+    }
+    cycleTime = time;
+
+    long dutyCycles = this.dutyCycles;
+    int workCount = lanes[AgentPriority.HIGH.ordinal()].doWork();
+    workCount += lanes[AgentPriority.NORMAL.ordinal()].doWork();
+    if (workCount == 0 || dutyCycles % bulkInterval == 0) {
+      workCount += lanes[AgentPriority.BULK.ordinal()].doWork();
+    }
+
+    if (workCount > 0) {
+      TOTAL_WORK.lazySet(this, totalWork + workCount);
+      BUSY_CYCLES.lazySet(this, busyCycles + 1);
+    }
+    DUTY_CYCLES.lazySet(this, dutyCycles + 1);
+
+    if (stallDetector != null) {
+      stallDetector.onCycleEnd(cycleTime, slowestAgent);
     }
+    cycleStallDetector = null;
+    slowestAgent = null;
 
     return workCount;
   }
@@ -128,8 +306,10 @@ public class DynamicCompositeAgent implements Agent {
 
     processCommands();
 
-    agents.forEach(this::safetyClose);
-    agents.clear();
+    for (Lane lane : lanes) {
+      lane.onClose();
+    }
+    agentCount = 0;
   }
 
   @Override
@@ -147,11 +327,90 @@ public class DynamicCompositeAgent implements Agent {
    * @param agent to be added to the composite.
    */
   public void add(Agent agent) {
+    add(agent, false);
+  }
+
+  /**
+   * Add a new {@link Agent} to the composite, see {@link #add(Agent)}.
+   *
+   * @param agent to be added to the composite.
+   * @param pinned whether the agent must be ignored by {@link
+   *     #transferBusiest(DynamicCompositeAgent)}.
+   */
+  public void add(Agent agent, boolean pinned) {
+    add(agent, pinned, AgentPriority.NORMAL);
+  }
+
+  /**
+   * Add a new {@link Agent} to the composite, see {@link #add(Agent)}.
+   *
+   * @param agent to be added to the composite.
+   * @param pinned whether the agent must be ignored by {@link
+   *     #transferBusiest(DynamicCompositeAgent)}.
+   * @param priority priority lane of the agent.
+   */
+  public void add(Agent agent, boolean pinned, AgentPriority priority) {
     Objects.requireNonNull(agent, "agent cannot be null");
+    Objects.requireNonNull(priority, "priority cannot be null");
     if (Status.ACTIVE != status) {
       throw new IllegalStateException("add called when not active");
     }
-    commands.add(() -> add0(agent));
+    enqueueStart(Command.ADD, agent, pinned, priority);
+  }
+
+  /**
+   * Add a batch of new {@link Agent}s to the composite in one command, see {@link #add(Agent)}.
+   *
+   * <p>All agents of the batch are started during the same {@link #doWork()} duty cycle, after
+   * that the callback is invoked on the thread of this composite. Agents which fail to start are
+   * closed and don't prevent the rest of the batch from being added.
+   *
+   * @param agents to be added to the composite.
+   * @param pinned whether the agents must be ignored by {@link
+   *     #transferBusiest(DynamicCompositeAgent)}.
+   * @param onComplete invoked when the batch is applied, may be null
+   */
+  public void addAll(Agent[] agents, boolean pinned, Runnable onComplete) {
+    addAll(agents, pinned, AgentPriority.NORMAL, onComplete);
+  }
+
+  /**
+   * Add a batch of new {@link Agent}s to the composite in one command, see {@link
+   * #addAll(Agent[], boolean, Runnable)}.
+   *
+   * @param agents to be added to the composite.
+   * @param pinned whether the agents must be ignored by {@link
+   *     #transferBusiest(DynamicCompositeAgent)}.
+   * @param priority priority lane of the agents.
+   * @param onComplete invoked when the batch is applied, may be null
+   */
+  public void addAll(
+      Agent[] agents, boolean pinned, AgentPriority priority, Runnable onComplete) {
+    for (Agent agent : agents) {
+      Objects.requireNonNull(agent, "agent cannot be null");
+    }
+    Objects.requireNonNull(priority, "priority cannot be null");
+    if (Status.ACTIVE != status) {
+      throw new IllegalStateException("add called when not active");
+    }
+    AGENT_COUNT.addAndGet(this, agents.length);
+    Recorder[] recorders = new Recorder[agents.length];
+    for (int i = 0; i < agents.length; i++) {
+      recorders[i] = newRecorder(agents[i]);
+    }
+    Command command = command(Command.ADD_ALL, null, pinned, priority, null, null);
+    command.batch = agents;
+    command.batchRecorders = recorders;
+    command.callback = onComplete;
+    try {
+      enqueue(command);
+    } catch (RuntimeException ex) {
+      AGENT_COUNT.addAndGet(this, -agents.length);
+      for (Recorder recorder : recorders) {
+        safetyClose(recorder, RemovalCause.FAILED);
+      }
+      throw ex;
+    }
   }
 
   /**
@@ -167,19 +426,161 @@ public class DynamicCompositeAgent implements Agent {
     if (Status.ACTIVE != status) {
       throw new IllegalStateException("remove called when not active");
     }
-    commands.add(() -> remove0(agent));
+    enqueue(Command.REMOVE, agent, null);
   }
 
-  private void add0(Agent agent) {
+  /**
+   * Remove a batch of {@link Agent}s from the composite in one command, see {@link
+   * #remove(Agent)}.
+   *
+   * <p>All agents of the batch are removed and closed during the same {@link #doWork()} duty
+   * cycle, after that the callback is invoked on the thread of this composite.
+   *
+   * @param agents to be removed.
+   * @param onComplete invoked when the batch is applied, may be null
+   */
+  public void removeAll(Agent[] agents, Runnable onComplete) {
+    for (Agent agent : agents) {
+      Objects.requireNonNull(agent, "agent cannot be null");
+    }
     if (Status.ACTIVE != status) {
+      throw new IllegalStateException("remove called when not active");
+    }
+    Command command = command(Command.REMOVE_ALL, null, false, null, null, null);
+    command.batch = agents;
+    command.callback = onComplete;
+    enqueue(command);
+  }
+
+  /**
+   * Moves an {@link Agent} from this composite to the target one without closing it.
+   *
+   * <p>The agent is detached during the next {@link #doWork()} duty cycle of this composite and
+   * attached during the next duty cycle of the target, so it's never run by both composites at the
+   * same time and {@link Agent#onStart()} is not called again. The agent keeps its priority. If the
+   * agent is not found then nothing happens, if the target is not active or its command queue is
+   * full then the agent stays in this composite.
+   *
+   * @param agent to be moved.
+   * @param target composite to move the agent to.
+   */
+  public void transfer(Agent agent, DynamicCompositeAgent target) {
+    Objects.requireNonNull(agent, "agent cannot be null");
+    Objects.requireNonNull(target, "target cannot be null");
+    if (Status.ACTIVE != status) {
+      throw new IllegalStateException("transfer called when not active");
+    }
+    enqueue(Command.TRANSFER, agent, target);
+  }
+
+  /**
+   * Moves the {@link Agent} which did most of the work since the previous invocation of this
+   * method to the target composite, see {@link #transfer(Agent, DynamicCompositeAgent)}. Pinned
+   * agents are never moved. Nothing happens if there is less than two agents in this composite,
+   * since moving the only agent doesn't make this composite less loaded relative to its agents.
+   *
+   * @param target composite to move the agent to.
+   */
+  public void transferBusiest(DynamicCompositeAgent target) {
+    Objects.requireNonNull(target, "target cannot be null");
+    if (Status.ACTIVE != status) {
+      throw new IllegalStateException("transfer called when not active");
+    }
+    enqueue(Command.TRANSFER_BUSIEST, null, target);
+  }
+
+  private void add0(Agent agent, boolean pinned, AgentPriority priority, Recorder recorder) {
+    if (Status.ACTIVE != status) {
+      AGENT_COUNT.decrementAndGet(this);
       safetyClose(agent);
+      safetyClose(recorder, RemovalCause.CLOSED);
       return;
     }
     try {
       agent.onStart();
-      agents.add(agent);
+      lanes[priority.ordinal()].append(agent, pinned, recorder);
     } catch (Throwable th) {
+      AGENT_COUNT.decrementAndGet(this);
+      safetyClose(agent);
+      safetyClose(recorder, RemovalCause.FAILED);
+    }
+  }
+
+  // invoked by the thread of another composite, so it must never wait for a free slot
+  private boolean tryAttach(
+      Agent agent, boolean pinned, AgentPriority priority, Recorder recorder) {
+    if (Status.ACTIVE != status) {
+      return false;
+    }
+    AGENT_COUNT.incrementAndGet(this);
+    Command command = command(Command.ATTACH, agent, pinned, priority, recorder, null);
+    if (!commands.offer(command)) {
+      AGENT_COUNT.decrementAndGet(this);
+      command.clear();
+      freeCommands.offer(command);
+      return false;
+    }
+    return true;
+  }
+
+  private void attach0(Agent agent, boolean pinned, AgentPriority priority, Recorder recorder) {
+    if (Status.ACTIVE != status) {
+      AGENT_COUNT.decrementAndGet(this);
       safetyClose(agent);
+      safetyClose(recorder, RemovalCause.CLOSED);
+      return;
+    }
+    lanes[priority.ordinal()].append(agent, pinned, recorder);
+  }
+
+  private void transfer0(Agent agent, DynamicCompositeAgent target) {
+    if (Status.ACTIVE != status || target == this) {
+      return;
+    }
+    for (Lane lane : lanes) {
+      int index = lane.indexOf(agent);
+      if (index >= 0) {
+        transfer0(lane, index, target);
+        return;
+      }
+    }
+  }
+
+  private void transfer0(Lane lane, int index, DynamicCompositeAgent target) {
+    // the agent is removed only once the target accepted it, otherwise it stays in this lane;
+    // recorder moves along with the agent, so its metrics history is kept
+    Recorder recorder = lane.recorders[index];
+    if (target.tryAttach(lane.agents[index], lane.pinned[index], lane.priority, recorder)) {
+      lane.recorders[index] = null;
+      lane.removeAt(index, RemovalCause.TRANSFERRED);
+    }
+  }
+
+  private void transferBusiest0(DynamicCompositeAgent target) {
+    int size = 0;
+    for (Lane lane : lanes) {
+      size += lane.size;
+    }
+    if (size < 2) {
+      return;
+    }
+    Lane busiestLane = null;
+    int busiest = -1;
+    for (Lane lane : lanes) {
+      for (int i = 0; i < lane.size; i++) {
+        if (!lane.pinned[i]
+            && (busiestLane == null
+                || lane.workCounts[i] > busiestLane.workCounts[busiest])) {
+          busiestLane = lane;
+          busiest = i;
+        }
+      }
+    }
+    for (Lane lane : lanes) {
+      Arrays.fill(lane.workCounts, 0, lane.size, 0);
+    }
+    if (busiestLane != null && Status.ACTIVE == status && target != this) {
+      transfer0(busiestLane, busiest, target);
     }
   }
 
@@ -187,8 +588,25 @@ public class DynamicCompositeAgent implements Agent {
     if (Status.ACTIVE != status) {
       return;
     }
-    if (ArrayListUtil.fastUnorderedRemove(agents, agent)) {
-      safetyClose(agent);
+    for (Lane lane : lanes) {
+      int index = lane.indexOf(agent);
+      if (index >= 0) {
+        lane.removeAt(index, RemovalCause.REMOVED);
+        safetyClose(agent);
+        return;
+      }
+    }
+  }
+
+  private Recorder newRecorder(Agent agent) {
+    AgentMetrics agentMetrics = this.agentMetrics;
+    if (agentMetrics == null) {
+      return null;
+    }
+    try {
+      return agentMetrics.newRecorder(roleName, agent);
+    } catch (Throwable th) {
+      return null;
     }
   }
 
@@ -200,9 +618,316 @@ public class DynamicCompositeAgent implements Agent {
     }
   }
 
+  private void safetyClose(Recorder recorder, RemovalCause cause) {
+    if (recorder == null) {
+      return;
+    }
+    try {
+      recorder.close(cause);
+    } catch (Throwable ignored) {
+      // ignore
+    }
+  }
+
+  private void enqueueStart(int type, Agent agent, boolean pinned, AgentPriority priority) {
+    AGENT_COUNT.incrementAndGet(this);
+    Recorder recorder = newRecorder(agent);
+    try {
+      enqueue(command(type, agent, pinned, priority, recorder, null));
+    } catch (RuntimeException ex) {
+      AGENT_COUNT.decrementAndGet(this);
+      safetyClose(recorder, RemovalCause.FAILED);
+      throw ex;
+    }
+  }
+
+  private void enqueue(int type, Agent agent, DynamicCompositeAgent target) {
+    enqueue(command(type, agent, false, null, null, target));
+  }
+
+  private void enqueue(Command command) {
+    while (!commands.offer(command)) {
+      if (Thread.currentThread() == thread) {
+        // nobody else drains the queue, waiting would never end
+        command.clear();
+        freeCommands.offer(command);
+        throw new IllegalStateException("command queue is full");
+      }
+      Thread.yield();
+    }
+  }
+
+  private Command command(
+      int type,
+      Agent agent,
+      boolean pinned,
+      AgentPriority priority,
+      Recorder recorder,
+      DynamicCompositeAgent target) {
+    Command command = freeCommands.poll();
+    if (command == null) {
+      command = new Command();
+    }
+    command.type = type;
+    command.agent = agent;
+    command.pinned = pinned;
+    command.priority = priority;
+    command.recorder = recorder;
+    command.target = target;
+    return command;
+  }
+
   private void processCommands() {
-    for (Runnable action = commands.poll(); action != null; action = commands.poll()) {
-      action.run();
+    for (Command command = commands.poll(); command != null; command = commands.poll()) {
+      switch (command.type) {
+        case Command.ADD:
+          add0(command.agent, command.pinned, command.priority, command.recorder);
+          break;
+        case Command.ADD_ALL:
+          for (int i = 0; i < command.batch.length; i++) {
+            add0(command.batch[i], command.pinned, command.priority, command.batchRecorders[i]);
+          }
+          break;
+        case Command.ATTACH:
+          attach0(command.agent, command.pinned, command.priority, command.recorder);
+          break;
+        case Command.REMOVE:
+          remove0(command.agent);
+          break;
+        case Command.REMOVE_ALL:
+          for (Agent agent : command.batch) {
+            remove0(agent);
+          }
+          break;
+        case Command.TRANSFER:
+          transfer0(command.agent, command.target);
+          break;
+        case Command.TRANSFER_BUSIEST:
+          transferBusiest0(command.target);
+          break;
+        default:
+          break;
+      }
+      if (command.callback != null) {
+        try {
+          command.callback.run();
+        } catch (Throwable ignored) {
+          // ignore
+        }
+      }
+      command.clear();
+      freeCommands.offer(command);
+    }
+  }
+
+  /** Agents of one priority, run in turn starting from the next agent every time. */
+  private final class Lane {
+
+    private final AgentPriority priority;
+
+    private Agent[] agents;
+    private int size;
+    // index of the agent which runs first in the next duty cycle
+    private int startIndex;
+    // work done by every agent since the last transferBusiest, indexes match agents
+    private long[] workCounts;
+    // agents which are never picked by transferBusiest, indexes match agents
+    private boolean[] pinned;
+    // recorders of agent metrics (if enabled), indexes match agents
+    private Recorder[] recorders;
+
+    private Lane(AgentPriority priority, int capacity) {
+      this.priority = priority;
+      this.agents = new Agent[capacity];
+      this.workCounts = new long[capacity];
+      this.pinned = new boolean[capacity];
+      this.recorders = new Recorder[capacity];
+    }
+
+    private void onStart() {
+      for (int i = 0; i < size; i++) {
+        agents[i].onStart();
+      }
+    }
+
+    private int doWork() {
+      int workCount = 0;
+
+      StallDetector stallDetector = cycleStallDetector;
+      boolean timed = cycleTimed;
+      long time = cycleTime;
+
+      Agent[] agents = this.agents;
+      int size = this.size;
+      int start = startIndex < size ? startIndex : 0;
+      boolean removed = false;
+      for (int n = 0, i = start; n < size; n++) {
+        Agent agent = agents[i];
+        if (stallDetector != null) {
+          stallDetector.onAgentStart(agent);
+        }
+        int result;
+        RemovalCause cause = RemovalCause.COMPLETED;
+        try {
+          result = agent.doWork();
+        } catch (Throwable th) {
+          result = -1;
+          // agent terminating itself this way has completed its work rather than failed
+          cause =
+              th instanceof AgentTerminationException
+                  ? RemovalCause.COMPLETED
+                  : RemovalCause.FAILED;
+        }
+        if (timed) {
+          long now = System.nanoTime();
+          long durationNs = now - time;
+          Recorder recorder = recorders[i];
+          if (recorder != null) {
+            recorder.record(Math.max(result, 0), durationNs);
+          }
+          if (durationNs > slowestNs) {
+            slowestNs = durationNs;
+            slowestAgent = agent;
+          }
+          time = now;
+        }
+        if (result > 0) {
+          workCount += result;
+          workCounts[i] += result;
+        }
+        if (result < 0) {
+          // the slot is compacted after the cycle, so indexes stay valid while iterating
+          agents[i] = null;
+          closeRecorder(i, cause);
+          AGENT_COUNT.decrementAndGet(DynamicCompositeAgent.this);
+          safetyClose(agent);
+          removed = true;
+        }
+        if (++i == size) {
+          i = 0;
+        }
+      }
+
+      if (removed) {
+        compact();
+      }
+      startIndex = start + 1 < this.size ? start + 1 : 0;
+      cycleTime = time;
+
+      return workCount;
+    }
+
+    private void onClose() {
+      for (int i = 0; i < size; i++) {
+        safetyClose(agents[i]);
+        closeRecorder(i, RemovalCause.CLOSED);
+        agents[i] = null;
+      }
+      size = 0;
+    }
+
+    private int indexOf(Agent agent) {
+      for (int i = 0; i < size; i++) {
+        if (agents[i] == agent) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private void append(Agent agent, boolean pinned, Recorder recorder) {
+      if (size == agents.length) {
+        int capacity = size << 1;
+        agents = Arrays.copyOf(agents, capacity);
+        workCounts = Arrays.copyOf(workCounts, capacity);
+        this.pinned = Arrays.copyOf(this.pinned, capacity);
+        recorders = Arrays.copyOf(recorders, capacity);
+      }
+      agents[size] = agent;
+      workCounts[size] = 0;
+      this.pinned[size] = pinned;
+      recorders[size] = recorder;
+      size++;
+    }
+
+    private void removeAt(int index, RemovalCause cause) {
+      closeRecorder(index, cause);
+      int tail = size - index - 1;
+      if (tail > 0) {
+        System.arraycopy(agents, index + 1, agents, index, tail);
+        System.arraycopy(workCounts, index + 1, workCounts, index, tail);
+        System.arraycopy(pinned, index + 1, pinned, index, tail);
+        System.arraycopy(recorders, index + 1, recorders, index, tail);
+      }
+      size--;
+      agents[size] = null;
+      recorders[size] = null;
+      if (index < startIndex) {
+        startIndex--;
+      }
+      AGENT_COUNT.decrementAndGet(DynamicCompositeAgent.this);
+    }
+
+    private void compact() {
+      int j = 0;
+      for (int i = 0; i < size; i++) {
+        if (agents[i] != null) {
+          if (i != j) {
+            agents[j] = agents[i];
+            workCounts[j] = workCounts[i];
+            pinned[j] = pinned[i];
+            recorders[j] = recorders[i];
+          }
+          j++;
+        }
+      }
+      for (int i = j; i < size; i++) {
+        agents[i] = null;
+        recorders[i] = null;
+      }
+      size = j;
+    }
+
+    private void closeRecorder(int index, RemovalCause cause) {
+      Recorder recorder = recorders[index];
+      if (recorder != null) {
+        recorders[index] = null;
+        safetyClose(recorder, cause);
+      }
+    }
+  }
+
+  /** Reusable slot of the command queue. */
+  private static final class Command {
+
+    private static final int ADD = 1;
+    private static final int ATTACH = 2;
+    private static final int REMOVE = 3;
+    private static final int TRANSFER = 4;
+    private static final int TRANSFER_BUSIEST = 5;
+    private static final int ADD_ALL = 6;
+    private static final int REMOVE_ALL = 7;
+
+    private int type;
+    private Agent agent;
+    private boolean pinned;
+    private AgentPriority priority;
+    private Recorder recorder;
+    private DynamicCompositeAgent target;
+    private Agent[] batch;
+    private Recorder[] batchRecorders;
+    private Runnable callback;
+
+    private void clear() {
+      type = 0;
+      agent = null;
+      pinned = false;
+      priority = null;
+      recorder = null;
+      target = null;
+      batch = null;
+      batchRecorders = null;
+      callback = null;
     }
   }
 }
@@ -0,0 +1,38 @@
+package reactor.aeron;
+
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Allocation-free {@link FragmentMapper}, it wraps every fragment with the same mutable view
+ * instead of allocating a new buffer. The view is valid only during {@code onNext} of the inbound
+ * subscriber, consumers which need to keep the bytes beyond {@code onNext} (e.g. hand them over to
+ * another thread or buffer them with {@code publishOn}) must take {@link #copy(DirectBuffer)}.
+ *
+ * <p>Since the view is shared, the mapper is not thread-safe and a new instance must be created
+ * for every inbound agent.
+ */
+public final class FlyweightFragmentMapper implements FragmentMapper<DirectBuffer> {
+
+  private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+
+  @Override
+  public DirectBuffer apply(DirectBuffer buffer, int offset, int length, Header header) {
+    view.wrap(buffer, offset, length);
+    return view;
+  }
+
+  /**
+   * Copies content of the given buffer (usually a flyweight view) to a new heap buffer which can
+   * be kept after {@code onNext} returns.
+   *
+   * @param buffer buffer
+   * @return copy of the buffer
+   */
+  public static DirectBuffer copy(DirectBuffer buffer) {
+    byte[] bytes = new byte[buffer.capacity()];
+    buffer.getBytes(0, bytes);
+    return new UnsafeBuffer(bytes);
+  }
+}
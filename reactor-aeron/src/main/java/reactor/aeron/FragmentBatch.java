@@ -0,0 +1,127 @@
+package reactor.aeron;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reusable view of all messages delivered by a single poll of inbound agent, see {@link
+ * AeronInbound#receiveBatches()}. Messages are copied into the storage of the batch which is
+ * reused by the next poll, hence the batch and buffers returned by {@link #get(int)} are valid
+ * only during {@code onNext}.
+ */
+public final class FragmentBatch {
+
+  private static final int INITIAL_CAPACITY = 64;
+  private static final int INITIAL_STORAGE_CAPACITY = 4096;
+
+  private final ExpandableDirectByteBuffer storage =
+      new ExpandableDirectByteBuffer(INITIAL_STORAGE_CAPACITY);
+  private final UnsafeBuffer view = new UnsafeBuffer(0, 0);
+
+  private int[] offsets = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private int size;
+  private int storageLength;
+
+  FragmentBatch() {}
+
+  /**
+   * Returns number of messages in the batch.
+   *
+   * @return number of messages
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns message with the given index. Returned buffer is a flyweight which is reused by the
+   * next invocation of this method.
+   *
+   * @param index index of message
+   * @return message
+   */
+  public DirectBuffer get(int index) {
+    checkIndex(index);
+    view.wrap(storage, offsets[index], lengths[index]);
+    return view;
+  }
+
+  /**
+   * Returns buffer which holds all messages of the batch, see {@link #offset(int)} and {@link
+   * #length(int)}.
+   *
+   * @return storage buffer
+   */
+  public DirectBuffer buffer() {
+    return storage;
+  }
+
+  /**
+   * Returns offset of message with the given index in {@link #buffer()}.
+   *
+   * @param index index of message
+   * @return offset of message
+   */
+  public int offset(int index) {
+    checkIndex(index);
+    return offsets[index];
+  }
+
+  /**
+   * Returns length of message with the given index.
+   *
+   * @param index index of message
+   * @return length of message
+   */
+  public int length(int index) {
+    checkIndex(index);
+    return lengths[index];
+  }
+
+  /**
+   * Passes every message of the batch to the given consumer, see {@link #get(int)}.
+   *
+   * @param consumer consumer of messages
+   */
+  public void forEach(Consumer<? super DirectBuffer> consumer) {
+    for (int i = 0; i < size; i++) {
+      consumer.accept(get(i));
+    }
+  }
+
+  void add(DirectBuffer buffer, int offset, int length) {
+    if (size == offsets.length) {
+      offsets = Arrays.copyOf(offsets, size << 1);
+      lengths = Arrays.copyOf(lengths, size << 1);
+    }
+    storage.putBytes(storageLength, buffer, offset, length);
+    offsets[size] = storageLength;
+    lengths[size] = length;
+    storageLength += length;
+    size++;
+  }
+
+  void clear() {
+    size = 0;
+    storageLength = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "FragmentBatch{" + "size=" + size + ", length=" + storageLength + '}';
+  }
+}
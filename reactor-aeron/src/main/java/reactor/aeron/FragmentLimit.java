@@ -0,0 +1,47 @@
+package reactor.aeron;
+
+/**
+ * Per-poll fragment limit of inbound agents. If {@code maxLimit} is greater than {@code limit}
+ * then the value is adaptive: it doubles (up to {@code maxLimit}) while poll returns as many
+ * fragments as it was allowed to and there is still outstanding demand, i.e. image has a backlog
+ * which is not throttled by subscriber, and halves (down to {@code limit}) when poll returns less
+ * than half of the allowed fragments.
+ */
+final class FragmentLimit {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private int value;
+
+  FragmentLimit(int limit, int maxLimit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("fragment limit must be positive, but was: " + limit);
+    }
+    this.minLimit = limit;
+    this.maxLimit = Math.max(limit, maxLimit);
+    this.value = limit;
+  }
+
+  int value() {
+    return value;
+  }
+
+  /**
+   * Updates the limit according to result of the last poll.
+   *
+   * @param fragments number of polled fragments
+   * @param demand outstanding demand after the poll
+   */
+  void update(int fragments, long demand) {
+    if (minLimit == maxLimit) {
+      return;
+    }
+    if (fragments >= value) {
+      if (demand > value) {
+        value = Math.min(value << 1, maxLimit);
+      }
+    } else if (fragments < value >> 1) {
+      value = Math.max(value >> 1, minLimit);
+    }
+  }
+}
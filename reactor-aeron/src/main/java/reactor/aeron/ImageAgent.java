@@ -35,9 +35,11 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
 
   private static final CoreSubscriber CANCELLED_SUBSCRIBER = new CancelledSubscriber();
 
-  private static final int FRAGMENT_LIMIT = 10;
+  public static final int DEFAULT_FRAGMENT_LIMIT = 10;
 
   private final FluxReceive inbound = new FluxReceive();
+  private final FluxReceiveBatches inboundBatches = new FluxReceiveBatches();
+  private final FragmentBatch batch = new FragmentBatch();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
   private final Image image;
@@ -45,12 +47,18 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
   private final long stopPosition;
 
   private final FragmentMapper<T> mapper;
+  private final FragmentLimit fragmentLimit;
   private final ControlledFragmentHandler fragmentHandler =
       new ControlledFragmentAssembler(new AgentFragmentHandler());
 
   private volatile long requested;
   private volatile boolean fastPath;
+  private volatile boolean batchMode;
   private long produced;
+  private long demand;
+  private long batchResumePosition = Aeron.NULL_VALUE;
+  private int batchResumeSessionId;
+  private int batchResumeOffset;
   private volatile CoreSubscriber<T> destinationSubscriber;
   private Exception ex;
 
@@ -78,10 +86,41 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
    */
   public ImageAgent(
       Image image, FragmentMapper<T> mapper, boolean shouldCloseSubscription, long stopPosition) {
+    this(
+        image,
+        mapper,
+        shouldCloseSubscription,
+        stopPosition,
+        DEFAULT_FRAGMENT_LIMIT,
+        DEFAULT_FRAGMENT_LIMIT);
+  }
+
+  /**
+   * Creates image agent.
+   *
+   * @param image image
+   * @param mapper fragment mapper
+   * @param shouldCloseSubscription should the agent close image subscription when the agent is
+   *     closed?
+   * @param stopPosition expected stop position of the given image. A negative value means an
+   *     endless stream.
+   * @param fragmentLimit number of fragments polled at once
+   * @param maxFragmentLimit upper bound of adaptive fragment limit. If it's greater than {@code
+   *     fragmentLimit} then per-poll limit grows while the image has a backlog and there is
+   *     outstanding demand, and shrinks back when the agent gets idle.
+   */
+  public ImageAgent(
+      Image image,
+      FragmentMapper<T> mapper,
+      boolean shouldCloseSubscription,
+      long stopPosition,
+      int fragmentLimit,
+      int maxFragmentLimit) {
     this.image = image;
     this.mapper = mapper;
     this.shouldCloseSubscription = shouldCloseSubscription;
     this.stopPosition = stopPosition;
+    this.fragmentLimit = new FragmentLimit(fragmentLimit, maxFragmentLimit);
   }
 
   @Override
@@ -117,13 +156,22 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
       }
       throw new AgentTerminationException("Image is closed");
     }
+    if (batchMode) {
+      return pollBatch();
+    }
     if (fastPath) {
-      return image.controlledPoll(fragmentHandler, FRAGMENT_LIMIT);
+      demand = Long.MAX_VALUE;
+      int fragments = image.controlledPoll(fragmentHandler, fragmentLimit.value());
+      fragmentLimit.update(fragments, Long.MAX_VALUE);
+      return fragments;
     }
-    int r = (int) Math.min(requested, FRAGMENT_LIMIT);
+    long n = requested;
+    int r = (int) Math.min(n, fragmentLimit.value());
     int fragments = 0;
     if (r > 0) {
+      demand = n;
       fragments = image.controlledPoll(fragmentHandler, r);
+      fragmentLimit.update(fragments, n - produced);
       if (produced > 0) {
         Operators.produced(REQUESTED, this, produced);
         produced = 0;
@@ -132,6 +180,32 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
     return fragments;
   }
 
+  /**
+   * Polls fragments into the batch and emits it as a single item, demand is counted in batches.
+   *
+   * @return number of polled fragments
+   */
+  private int pollBatch() {
+    long n = requested;
+    if (n <= 0) {
+      return 0;
+    }
+    int fragments = image.controlledPoll(fragmentHandler, fragmentLimit.value());
+    fragmentLimit.update(fragments, n > 1 ? Long.MAX_VALUE : 0);
+    if (!batch.isEmpty()) {
+      CoreSubscriber destination = destinationSubscriber;
+      try {
+        destination.onNext(batch);
+      } catch (Exception e) {
+        ex = e;
+      } finally {
+        batch.clear();
+      }
+      Operators.produced(REQUESTED, this, 1);
+    }
+    return fragments;
+  }
+
   @Override
   public void onClose() {
     inbound.cancel();
@@ -152,6 +226,11 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
     return inbound;
   }
 
+  @Override
+  public Flux<FragmentBatch> receiveBatches() {
+    return inboundBatches;
+  }
+
   @Override
   public void dispose() {
     CoreSubscriber destination =
@@ -180,6 +259,16 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
         if (CANCELLED_SUBSCRIBER.equals(destination)) {
           return Action.ABORT;
         }
+        if (batchMode) {
+          addToBatch(buffer, offset, length, header);
+          return Action.CONTINUE;
+        }
+        if (MessageBatch.isBatch(header)) {
+          return onBatch(destination, buffer, offset, length, header);
+        }
+        if (produced >= demand) {
+          return Action.ABORT;
+        }
         T t = mapper.apply(buffer, offset, length, header);
         if (t != null) {
           destination.onNext(t);
@@ -191,6 +280,56 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
       }
       return Action.CONTINUE;
     }
+
+    private void addToBatch(DirectBuffer buffer, int offset, int length, Header header) {
+      if (!MessageBatch.isBatch(header)) {
+        batch.add(buffer, offset, length);
+        return;
+      }
+      for (int index = offset, limit = offset + length; index < limit; ) {
+        int messageLength = buffer.getInt(index, MessageBatch.BYTE_ORDER);
+        int messageOffset = index + MessageBatch.LENGTH_FIELD_LENGTH;
+        batch.add(buffer, messageOffset, messageLength);
+        index = messageOffset + messageLength;
+      }
+    }
+
+    /**
+     * Unpacks messages of the batch frame (see {@link MessageBatch}). If there is not enough demand
+     * for all of them, the frame is aborted and gets redelivered on the next poll, in that case
+     * delivery resumes right after the last emitted message.
+     */
+    private Action onBatch(
+        CoreSubscriber<T> destination,
+        DirectBuffer buffer,
+        int offset,
+        int length,
+        Header header) {
+      int limit = offset + length;
+      int index = offset;
+      if (batchResumePosition == header.position()
+          && batchResumeSessionId == header.sessionId()) {
+        index += batchResumeOffset;
+      }
+      while (index < limit) {
+        if (produced >= demand) {
+          batchResumePosition = header.position();
+          batchResumeSessionId = header.sessionId();
+          batchResumeOffset = index - offset;
+          return Action.ABORT;
+        }
+        int messageLength = buffer.getInt(index, MessageBatch.BYTE_ORDER);
+        int messageOffset = index + MessageBatch.LENGTH_FIELD_LENGTH;
+        index = messageOffset + messageLength;
+        T t = mapper.apply(buffer, messageOffset, messageLength, header);
+        if (t != null) {
+          destination.onNext(t);
+          produced++;
+        }
+      }
+      batchResumePosition = Aeron.NULL_VALUE;
+      return Action.CONTINUE;
+    }
   }
 
   private class FluxReceive extends Flux<T> implements org.reactivestreams.Subscription {
@@ -220,17 +359,30 @@ public class ImageAgent<T> implements Agent, AeronInbound<T>, Disposable {
 
     @Override
     public void subscribe(CoreSubscriber<? super T> destinationSubscriber) {
+      subscribe(destinationSubscriber, false);
+    }
+
+    private void subscribe(CoreSubscriber<?> destinationSubscriber, boolean batches) {
       boolean result =
           DESTINATION_SUBSCRIBER.compareAndSet(ImageAgent.this, null, destinationSubscriber);
       if (result) {
+        batchMode = batches;
         destinationSubscriber.onSubscribe(this);
       } else {
-        // only subscriber is allowed on receive()
+        // only subscriber is allowed on receive() or receiveBatches()
         Operators.error(destinationSubscriber, Exceptions.duplicateOnSubscribeException());
       }
     }
   }
 
+  private class FluxReceiveBatches extends Flux<FragmentBatch> {
+
+    @Override
+    public void subscribe(CoreSubscriber<? super FragmentBatch> destinationSubscriber) {
+      inbound.subscribe(destinationSubscriber, true);
+    }
+  }
+
   private static class CancelledSubscriber implements CoreSubscriber {
 
     @Override
@@ -0,0 +1,56 @@
+package reactor.aeron;
+
+/**
+ * Load-aware {@link AeronEventLoopPlacement}. Load of event loop is the work done by its agents
+ * during the last sample interval. Between samples every placement adds an estimate of load of one
+ * agent to the chosen event loop, so that a burst of new agents is spread across event loops
+ * instead of landing on the one which was idle at the time of the last sample.
+ */
+final class LeastLoadedPlacement implements AeronEventLoopPlacement {
+
+  private final long sampleIntervalNs;
+
+  private AeronEventLoop[] eventLoops;
+  private long[] lastWorkCounts;
+  private long[] loads;
+  private long lastSampleTime;
+
+  LeastLoadedPlacement(long sampleIntervalNs) {
+    this.sampleIntervalNs = sampleIntervalNs;
+  }
+
+  @Override
+  public synchronized AeronEventLoop select(AeronEventLoop[] eventLoops) {
+    long now = System.nanoTime();
+    if (this.eventLoops != eventLoops) {
+      this.eventLoops = eventLoops;
+      lastWorkCounts = new long[eventLoops.length];
+      loads = new long[eventLoops.length];
+      sample(now);
+    } else if (now - lastSampleTime >= sampleIntervalNs) {
+      sample(now);
+    }
+
+    int index = 0;
+    for (int i = 1; i < eventLoops.length; i++) {
+      if (loads[i] < loads[index]
+          || (loads[i] == loads[index]
+              && eventLoops[i].agentCount() < eventLoops[index].agentCount())) {
+        index = i;
+      }
+    }
+
+    AeronEventLoop eventLoop = eventLoops[index];
+    loads[index] += Math.max(1, loads[index] / Math.max(1, eventLoop.agentCount()));
+    return eventLoop;
+  }
+
+  private void sample(long now) {
+    for (int i = 0; i < eventLoops.length; i++) {
+      long workCount = eventLoops[i].workCount();
+      loads[i] = workCount - lastWorkCounts[i];
+      lastWorkCounts[i] = workCount;
+    }
+    lastSampleTime = now;
+  }
+}
@@ -0,0 +1,43 @@
+package reactor.aeron;
+
+import io.aeron.ReservedValueSupplier;
+import io.aeron.logbuffer.Header;
+import java.nio.ByteOrder;
+import org.agrona.BitUtil;
+
+/**
+ * Wire format of coalesced messages. Several small messages are packed into one aeron frame as a
+ * sequence of {@code [int32 length][payload]} entries, length is encoded in {@link #BYTE_ORDER}
+ * (little endian, like aeron frame headers) regardless of platform byte order. The frame is marked
+ * with {@link #RESERVED_VALUE} in the reserved value field of aeron data header. Since the frame is
+ * self-describing receivers unpack batches regardless of their own settings, hence both sides of
+ * a connection can enable batching independently.
+ */
+public final class MessageBatch {
+
+  /** Reserved value of aeron data header which marks a batch frame, "rabatch1" in ASCII. */
+  public static final long RESERVED_VALUE = 0x7261626174636831L;
+
+  /** Length of the length prefix of every message in a batch. */
+  public static final int LENGTH_FIELD_LENGTH = BitUtil.SIZE_OF_INT;
+
+  /** Byte order of the length prefix of every message in a batch. */
+  public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+  static final ReservedValueSupplier RESERVED_VALUE_SUPPLIER =
+      (termBuffer, termOffset, frameLength) -> RESERVED_VALUE;
+
+  private MessageBatch() {
+    // Do not instantiate
+  }
+
+  /**
+   * Returns true if the frame with given header is a batch frame.
+   *
+   * @param header aeron data header
+   * @return true if the frame is a batch frame, false otherwise
+   */
+  public static boolean isBatch(Header header) {
+    return header.reservedValue() == RESERVED_VALUE;
+  }
+}
@@ -0,0 +1,26 @@
+package reactor.aeron;
+
+/**
+ * {@link BackpressurePolicy} with readable {@link #toString()}, so built-in policies can be told
+ * apart in logged {@link PublicationOptions}.
+ */
+final class NamedBackpressurePolicy implements BackpressurePolicy {
+
+  private final String name;
+  private final BackpressurePolicy delegate;
+
+  NamedBackpressurePolicy(String name, BackpressurePolicy delegate) {
+    this.name = name;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public long onBackPressured(int attempts, long elapsedNs, long timeoutNs) {
+    return delegate.onBackPressured(attempts, elapsedNs, timeoutNs);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
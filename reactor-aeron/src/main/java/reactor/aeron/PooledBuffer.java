@@ -0,0 +1,121 @@
+package reactor.aeron;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Reference counted off-heap buffer which comes from and returns to {@link BufferPool}. Buffer is
+ * acquired with reference count of one, every {@link #retain()} must be paired with {@link
+ * #release()}, buffer goes back to the pool once the count drops to zero and must not be accessed
+ * after that.
+ */
+public final class PooledBuffer extends UnsafeBuffer {
+
+  private static final AtomicIntegerFieldUpdater<PooledBuffer> REF_CNT =
+      AtomicIntegerFieldUpdater.newUpdater(PooledBuffer.class, "refCnt");
+
+  private static final DirectBufferHandler<DirectBuffer> RELEASING_HANDLER =
+      new DirectBufferHandler<DirectBuffer>() {
+        @Override
+        public DirectBuffer map(DirectBuffer buffer) {
+          return buffer;
+        }
+
+        @Override
+        public void dispose(DirectBuffer buffer) {
+          PooledBuffer.release(buffer);
+        }
+      };
+
+  private final BufferPool pool;
+  private final int sizeClass;
+  private final ByteBuffer byteBuffer;
+
+  private volatile int refCnt;
+
+  PooledBuffer(BufferPool pool, int sizeClass, ByteBuffer byteBuffer) {
+    super(byteBuffer);
+    this.pool = pool;
+    this.sizeClass = sizeClass;
+    this.byteBuffer = byteBuffer;
+  }
+
+  void init(int length) {
+    wrap(byteBuffer, 0, length);
+    refCnt = 1;
+  }
+
+  int sizeClass() {
+    return sizeClass;
+  }
+
+  public int refCnt() {
+    return refCnt;
+  }
+
+  /**
+   * Increments reference count.
+   *
+   * @return this buffer
+   */
+  public PooledBuffer retain() {
+    for (; ; ) {
+      int cnt = refCnt;
+      if (cnt <= 0) {
+        throw new IllegalStateException("PooledBuffer is already released");
+      }
+      if (REF_CNT.compareAndSet(this, cnt, cnt + 1)) {
+        return this;
+      }
+    }
+  }
+
+  /**
+   * Decrements reference count and returns the buffer to the pool once the count drops to zero.
+   *
+   * @return true if the buffer has been returned to the pool, false otherwise
+   */
+  public boolean release() {
+    for (; ; ) {
+      int cnt = refCnt;
+      if (cnt <= 0) {
+        throw new IllegalStateException("PooledBuffer is already released");
+      }
+      if (REF_CNT.compareAndSet(this, cnt, cnt - 1)) {
+        if (cnt == 1) {
+          pool.recycle(this);
+          return true;
+        }
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Releases the given buffer if it's a {@link PooledBuffer}.
+   *
+   * @param buffer buffer
+   * @return true if the buffer has been returned to the pool, false otherwise
+   */
+  public static boolean release(DirectBuffer buffer) {
+    return buffer instanceof PooledBuffer && ((PooledBuffer) buffer).release();
+  }
+
+  /**
+   * Returns buffer handler which releases pooled buffers once they have been published. Use it to
+   * send buffers which come from {@link BufferPool}, e.g. received with {@link
+   * PooledFragmentMapper}.
+   *
+   * @return buffer handler
+   */
+  public static DirectBufferHandler<DirectBuffer> releasingHandler() {
+    return RELEASING_HANDLER;
+  }
+
+  @Override
+  public String toString() {
+    return "PooledBuffer{" + "capacity=" + capacity() + ", refCnt=" + refCnt + '}';
+  }
+}
@@ -0,0 +1,24 @@
+package reactor.aeron;
+
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+
+/**
+ * {@link FragmentMapper} which copies every fragment into a buffer of {@link BufferPool}. Unlike
+ * {@link FlyweightFragmentMapper} received buffers may be kept after {@code onNext}, but they must
+ * be released with {@link PooledBuffer#release(DirectBuffer)} once consumed (or sent with {@link
+ * PooledBuffer#releasingHandler()}).
+ */
+public final class PooledFragmentMapper implements FragmentMapper<DirectBuffer> {
+
+  private final BufferPool pool;
+
+  public PooledFragmentMapper(BufferPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public DirectBuffer apply(DirectBuffer buffer, int offset, int length, Header header) {
+    return pool.copy(buffer, offset, length);
+  }
+}
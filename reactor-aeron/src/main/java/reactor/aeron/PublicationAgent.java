@@ -1,14 +1,24 @@
 package reactor.aeron;
 
 import io.aeron.Publication;
-import java.time.Duration;
+import io.aeron.logbuffer.BufferClaim;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
 import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentTerminationException;
+import org.agrona.concurrent.CachedNanoClock;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -18,7 +28,7 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
-import reactor.core.publisher.SignalType;
+import reactor.util.concurrent.Queues;
 
 public final class PublicationAgent implements Agent, AeronOutbound, Disposable {
 
@@ -29,11 +39,32 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
           AtomicReferenceFieldUpdater.newUpdater(
               PublicationAgent.class, PublisherProcessor[].class, "publisherProcessors");
 
-  private final Publication publication;
+  /** Default number of items requested at once from upstream of every send. */
+  public static final int DEFAULT_PREFETCH = Queues.SMALL_BUFFER_SIZE;
 
-  private final Duration connectTimeout = Duration.ofSeconds(5);
-  private final Duration backpressureTimeout = Duration.ofSeconds(5);
-  private final Duration adminActionTimeout = Duration.ofSeconds(5);
+  private final Publication publication;
+  private final int prefetch;
+  private final BufferClaim bufferClaim = new BufferClaim();
+  private ExpandableDirectByteBuffer scratchBuffer;
+
+  // batching state, see MessageBatch
+  private final UnsafeBuffer batchBuffer;
+  private final long batchLingerNs;
+  private int batchLength;
+  private int batchCount;
+  private long batchStartNs;
+  private long batchFlushStart;
+  private int batchAttempts;
+  // set when the batch failed to be published in the current duty cycle
+  private boolean batchFlushFailed;
+
+  private final long connectTimeoutNs;
+  private final long backpressureTimeoutNs;
+  private final long adminActionTimeoutNs;
+  private final BackpressurePolicy backpressurePolicy;
+
+  // updated once per duty cycle
+  private final CachedNanoClock clock = new CachedNanoClock();
 
   private volatile PublisherProcessor[] publisherProcessors = new PublisherProcessor[0];
 
@@ -48,7 +79,41 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
    * @param publication publication
    */
   public PublicationAgent(Publication publication) {
+    this(publication, DEFAULT_PREFETCH);
+  }
+
+  /**
+   * Creates publication agent.
+   *
+   * @param publication publication
+   * @param prefetch number of items requested from upstream of every {@link #send} at once and
+   *     buffered in front of the publication; replenished when 75% of them have been published
+   */
+  public PublicationAgent(Publication publication, int prefetch) {
+    this(publication, new PublicationOptions().prefetch(prefetch));
+  }
+
+  /**
+   * Creates publication agent.
+   *
+   * @param publication publication
+   * @param options publication options
+   */
+  public PublicationAgent(Publication publication, PublicationOptions options) {
     this.publication = Objects.requireNonNull(publication, "publication cannot be null");
+    this.prefetch = options.prefetch();
+    this.batchLingerNs = options.batchLinger().toNanos();
+    this.connectTimeoutNs = options.connectTimeout().toNanos();
+    this.backpressureTimeoutNs = options.backpressureTimeout().toNanos();
+    this.adminActionTimeoutNs = options.adminActionTimeout().toNanos();
+    this.backpressurePolicy = options.backpressurePolicy();
+    if (options.isBatchingEnabled()) {
+      int capacity = Math.min(options.batchMaxBytes(), publication.maxPayloadLength());
+      this.batchBuffer =
+          new UnsafeBuffer(BufferUtil.allocateDirectAligned(capacity, BitUtil.CACHE_LINE_LENGTH));
+    } else {
+      this.batchBuffer = null;
+    }
   }
 
   @Override
@@ -67,6 +132,8 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
     int result = 0;
 
     Exception ex = null;
+    clock.update(System.nanoTime());
+    batchFlushFailed = false;
 
     //noinspection ForLoopReplaceableByForEach
     for (int i = 0; i < oldArray.length; i++) {
@@ -74,78 +141,82 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
 
       processor.request();
 
-      Object buffer = processor.buffer;
-      if (buffer == null) {
-        continue;
+      if (processor.parkedUntil != 0) {
+        if (clock.nanoTime() - processor.parkedUntil < 0) {
+          continue;
+        }
+        processor.parkedUntil = 0;
       }
 
       long r = 0;
+      boolean failed = false;
 
-      try {
-        r = processor.publish(buffer);
-      } catch (Exception e) {
-        // finish only the current processor with the given exception and continue
-        processor.cancelDueTo(e);
-        processor.removeSelf();
-        continue;
-      }
-
-      if (r > 0) {
-        result++;
-        processor.reset();
-        continue;
-      }
+      // drain queued items, but not more than prefetch at once to stay fair to other processors
+      for (int n = 0; n < processor.prefetch; n++) {
+        Object buffer = processor.queue.peek();
+        if (buffer == null) {
+          break;
+        }
 
-      // Handle closed publication
-      if (r == Publication.CLOSED) {
-        logger.warn("aeron.Publication is CLOSED: {}", this);
-        ex = new AgentTerminationException("aeron.Publication is CLOSED");
-      }
+        try {
+          r = processor.publish(buffer);
+        } catch (Exception e) {
+          // finish only the current processor with the given exception and continue
+          processor.cancelDueTo(e);
+          processor.removeSelf();
+          failed = true;
+          break;
+        }
 
-      // Handle max position exceeded
-      if (r == Publication.MAX_POSITION_EXCEEDED) {
-        logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
-        ex = new AgentTerminationException("aeron.Publication received MAX_POSITION_EXCEEDED");
-      }
+        if (batchFlushFailed) {
+          // it's the batch which can't be published, not the item: keep the item and retry later
+          ex = onBatchFlushFailed(r);
+          r = 0;
+          break;
+        }
 
-      // Handle failed connection
-      if (r == Publication.NOT_CONNECTED) {
-        if (processor.isTimeoutElapsed(connectTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve NOT_CONNECTED within {} ms, {}",
-              connectTimeout.toMillis(),
-              this);
-          ex = new AgentTerminationException("Failed to resolve NOT_CONNECTED within timeout");
+        if (r == Publication.BACK_PRESSURED) {
+          long action = backpressureAction(processor);
+          if (action == BackpressurePolicy.DROP_OLDEST) {
+            // shed and go on with the next item in the same duty cycle
+            processor.dropOldest();
+            result++;
+            r = 0;
+            continue;
+          }
+          ex = onBackPressured(processor, action);
+          break;
         }
-      }
 
-      // Handle backpressure
-      if (r == Publication.BACK_PRESSURED) {
-        if (processor.isTimeoutElapsed(backpressureTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
-              backpressureTimeout.toMillis(),
-              this);
-          ex = new AgentTerminationException("Failed to resolve BACK_PRESSURED within timeout");
+        if (r <= 0) {
+          break;
         }
+
+        result++;
+        processor.onPublished();
       }
 
-      // Handle admin action
-      if (r == Publication.ADMIN_ACTION) {
-        if (processor.isTimeoutElapsed(adminActionTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve ADMIN_ACTION within {} ms, {}",
-              adminActionTimeout.toMillis(),
-              this);
-          ex = new AgentTerminationException("Failed to resolve ADMIN_ACTION within timeout");
-        }
+      if (failed) {
+        continue;
       }
 
-      if (ex != null) {
+      processor.tryFinish();
+
+      if (ex == null && r < 0 && r != Publication.BACK_PRESSURED) {
+        ex = checkResult(r, processor.start);
+      }
+      if (ex != null || batchFlushFailed) {
         break;
       }
     }
 
+    if (ex == null && !batchFlushFailed && batchCount > 0 && isBatchLingerElapsed()) {
+      long r = flushBatch();
+      if (r < 0) {
+        ex = onBatchFlushFailed(r);
+      }
+    }
+
     if (ex != null) {
       lastError = ex;
       throw ex;
@@ -154,6 +225,217 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
     return result;
   }
 
+  /**
+   * Turns unsuccessful result of {@link Publication#offer} into the exception if the publication
+   * can't make progress any longer.
+   *
+   * @param r result of publication attempt
+   * @param start time of the first attempt (in nanos)
+   * @return exception or null if publication may be retried later
+   */
+  private Exception checkResult(long r, long start) {
+    // Handle closed publication
+    if (r == Publication.CLOSED) {
+      logger.warn("aeron.Publication is CLOSED: {}", this);
+      return new AgentTerminationException("aeron.Publication is CLOSED");
+    }
+
+    // Handle max position exceeded
+    if (r == Publication.MAX_POSITION_EXCEEDED) {
+      logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
+      return new AgentTerminationException("aeron.Publication received MAX_POSITION_EXCEEDED");
+    }
+
+    // Handle failed connection
+    if (r == Publication.NOT_CONNECTED) {
+      if (isTimeoutElapsed(start, connectTimeoutNs)) {
+        logger.warn(
+            "aeron.Publication failed to resolve NOT_CONNECTED within {} ms, {}",
+            TimeUnit.NANOSECONDS.toMillis(connectTimeoutNs),
+            this);
+        return new AgentTerminationException("Failed to resolve NOT_CONNECTED within timeout");
+      }
+    }
+
+    // Handle admin action
+    if (r == Publication.ADMIN_ACTION) {
+      if (isTimeoutElapsed(start, adminActionTimeoutNs)) {
+        logger.warn(
+            "aeron.Publication failed to resolve ADMIN_ACTION within {} ms, {}",
+            TimeUnit.NANOSECONDS.toMillis(adminActionTimeoutNs),
+            this);
+        return new AgentTerminationException("Failed to resolve ADMIN_ACTION within timeout");
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Consults {@link BackpressurePolicy} about the item of the given processor which can't be
+   * published due to backpressure. Time is measured since the first unsuccessful attempt of the
+   * processor after its last successful publication, so once backpressure outlasts the timeout
+   * the subsequent items are handled by the policy right away.
+   *
+   * @param processor processor
+   * @return action of the policy
+   */
+  private long backpressureAction(PublisherProcessor processor) {
+    long elapsedNs = clock.nanoTime() - processor.start;
+    return backpressurePolicy.onBackPressured(
+        ++processor.attempts, elapsedNs, backpressureTimeoutNs);
+  }
+
+  /**
+   * Applies action of {@link BackpressurePolicy} to the given processor.
+   *
+   * @param processor processor
+   * @param action action of the policy (but {@link BackpressurePolicy#DROP_OLDEST})
+   * @return exception or null if publication may make progress
+   */
+  private Exception onBackPressured(PublisherProcessor processor, long action) {
+    long elapsedNs = clock.nanoTime() - processor.start;
+
+    if (action > 0) {
+      processor.parkedUntil = clock.nanoTime() + action;
+      return null;
+    }
+    if (action == BackpressurePolicy.RETRY) {
+      return null;
+    }
+    if (action == BackpressurePolicy.DROP_NEWEST) {
+      processor.dropNewest();
+      return null;
+    }
+    if (action == BackpressurePolicy.FAIL) {
+      logger.warn(
+          "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, cancelling send, {}",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNs),
+          this);
+      processor.cancelDueTo(
+          Exceptions.failWithOverflow("Failed to resolve BACK_PRESSURED within timeout"));
+      processor.removeSelf();
+      return null;
+    }
+    logger.warn(
+        "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
+        TimeUnit.NANOSECONDS.toMillis(elapsedNs),
+        this);
+    return new AgentTerminationException("Failed to resolve BACK_PRESSURED within timeout");
+  }
+
+  /**
+   * Handles unsuccessful publication of the pending batch.
+   *
+   * @param r result of publication attempt
+   * @return exception or null if publication may make progress
+   */
+  private Exception onBatchFlushFailed(long r) {
+    if (batchFlushStart == 0) {
+      batchFlushStart = clock.nanoTime();
+    }
+    if (r == Publication.BACK_PRESSURED) {
+      return onBatchBackPressured();
+    }
+    return checkResult(r, batchFlushStart);
+  }
+
+  /**
+   * Applies {@link BackpressurePolicy} to the pending batch which can't be published due to
+   * backpressure. Batch consists of items which have been already accounted as published, so any
+   * action but retry and terminate discards the batch.
+   *
+   * @return exception or null if publication may make progress
+   */
+  private Exception onBatchBackPressured() {
+    long elapsedNs = clock.nanoTime() - batchFlushStart;
+    long action =
+        backpressurePolicy.onBackPressured(++batchAttempts, elapsedNs, backpressureTimeoutNs);
+
+    if (action >= 0) {
+      return null;
+    }
+    if (action == BackpressurePolicy.TERMINATE) {
+      logger.warn(
+          "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
+          TimeUnit.NANOSECONDS.toMillis(elapsedNs),
+          this);
+      return new AgentTerminationException("Failed to resolve BACK_PRESSURED within timeout");
+    }
+    logger.debug("Discarding batch of {} messages due to backpressure, {}", batchCount, this);
+    resetBatch();
+    return null;
+  }
+
+  private boolean isTimeoutElapsed(long start, long timeoutNs) {
+    return clock.nanoTime() - start > timeoutNs;
+  }
+
+  private boolean isBatchLingerElapsed() {
+    return batchLingerNs == 0 || clock.nanoTime() - batchStartNs >= batchLingerNs;
+  }
+
+  /**
+   * Appends the given buffer to the current batch, the batch gets published first if there is not
+   * enough room left in it. Buffers which don't fit even into empty batch are published as is.
+   *
+   * @param processor owner of the buffer
+   * @param buffer abstract buffer
+   * @return positive value if buffer has been appended or published, otherwise result of
+   *     unsuccessful publication of the buffer or of the batch (then {@code batchFlushFailed} is
+   *     set and the buffer is left to the caller)
+   */
+  private <B> long appendToBatch(PublisherProcessor<B> processor, B buffer) {
+    int capacity = batchBuffer.capacity();
+    int offset = batchLength + MessageBatch.LENGTH_FIELD_LENGTH;
+    int length = offset < capacity ? processor.encode0(buffer, batchBuffer, offset, capacity) : -1;
+
+    if (length < 0 && batchCount > 0) {
+      long r = flushBatch();
+      if (r < 0) {
+        batchFlushFailed = true;
+        return r;
+      }
+      offset = MessageBatch.LENGTH_FIELD_LENGTH;
+      length = processor.encode0(buffer, batchBuffer, offset, capacity);
+    }
+
+    if (length < 0) {
+      // doesn't fit into batch at all
+      return processor.publish0(buffer);
+    }
+
+    if (batchCount == 0) {
+      batchStartNs = clock.nanoTime();
+    }
+    batchBuffer.putInt(batchLength, length, MessageBatch.BYTE_ORDER);
+    batchLength = offset + length;
+    batchCount++;
+    return 1;
+  }
+
+  private long flushBatch() {
+    long r;
+    if (batchCount == 1) {
+      // there is no point to wrap single message
+      int offset = MessageBatch.LENGTH_FIELD_LENGTH;
+      r = publication.offer(batchBuffer, offset, batchLength - offset);
+    } else {
+      r = publication.offer(batchBuffer, 0, batchLength, MessageBatch.RESERVED_VALUE_SUPPLIER);
+    }
+    if (r > 0) {
+      resetBatch();
+    }
+    return r;
+  }
+
+  private void resetBatch() {
+    batchLength = 0;
+    batchCount = 0;
+    batchFlushStart = 0;
+    batchAttempts = 0;
+  }
+
   @Override
   public void onClose() {
     isDisposed = true;
@@ -192,71 +474,192 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
     return then(publish(dataStream, bufferHandler));
   }
 
+  @Override
+  public <B> AeronOutbound send(
+      Publisher<B> dataStream, DirectBufferWriter<? super B> bufferWriter) {
+    return then(publish(dataStream, bufferWriter));
+  }
+
   private <B> Mono<Void> publish(
       Publisher<B> publisher, DirectBufferHandler<? super B> bufferHandler) {
     return Mono.defer(
         () -> {
-          PublisherProcessor<B> processor = new PublisherProcessor<>(bufferHandler, this);
+          PublisherProcessor<B> processor =
+              new OfferProcessor<>(bufferHandler, prefetch(publisher), this);
+          publisher.subscribe(processor);
+          return processor.onDispose();
+        });
+  }
+
+  private <B> Mono<Void> publish(
+      Publisher<B> publisher, DirectBufferWriter<? super B> bufferWriter) {
+    return Mono.defer(
+        () -> {
+          PublisherProcessor<B> processor =
+              new ClaimProcessor<>(bufferWriter, prefetch(publisher), this);
           publisher.subscribe(processor);
           return processor.onDispose();
         });
   }
 
+  private int prefetch(Publisher<?> publisher) {
+    // there is no point to allocate the whole prefetch queue for at most one item
+    return publisher instanceof Mono ? 1 : prefetch;
+  }
+
+  /**
+   * Returns scratch buffer of at least given capacity. Used for messages which can't be claimed
+   * directly in the term buffer.
+   *
+   * @param capacity required capacity
+   * @return scratch buffer
+   */
+  private MutableDirectBuffer scratchBuffer(int capacity) {
+    if (scratchBuffer == null) {
+      scratchBuffer = new ExpandableDirectByteBuffer(capacity);
+    }
+    scratchBuffer.checkLimit(capacity);
+    return scratchBuffer;
+  }
+
   @Override
   public Mono<Void> onDispose() {
     return onDispose;
   }
 
-  private static class PublisherProcessor<B> extends BaseSubscriber<B> {
+  private abstract static class PublisherProcessor<B> extends BaseSubscriber<B> {
 
-    private final DirectBufferHandler<? super B> bufferHandler;
-    private final PublicationAgent parent;
+    private static final Object COMPLETE = new Object();
+
+    private static final AtomicIntegerFieldUpdater<PublisherProcessor> DROPPED =
+        AtomicIntegerFieldUpdater.newUpdater(PublisherProcessor.class, "dropped");
+
+    final PublicationAgent parent;
+
+    private final int prefetch;
+    private final int limit;
+    private final OneToOneConcurrentArrayQueue<B> queue;
 
     private long start;
+    private int attempts;
+    private long parkedUntil;
+    private volatile boolean shedding;
+    // items dropped while shedding, their demand is replenished by the agent once shedding stops
+    private volatile int dropped;
     private boolean requested;
+    private int produced;
+    private boolean finished;
 
     private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
-    private volatile B buffer;
-    private volatile Throwable error;
+    // terminal signal of upstream: COMPLETE or error, null while upstream is active
+    private volatile Object terminal;
 
-    PublisherProcessor(DirectBufferHandler<? super B> bufferHandler, PublicationAgent parent) {
-      this.bufferHandler = bufferHandler;
+    PublisherProcessor(int prefetch, PublicationAgent parent) {
       this.parent = parent;
+      this.prefetch = prefetch;
+      this.limit = prefetch - (prefetch >> 2);
+      this.queue = new OneToOneConcurrentArrayQueue<>(Math.max(prefetch, 2));
       addSelf();
     }
 
+    /**
+     * Publishes the given buffer into the publication.
+     *
+     * @param buffer abstract buffer
+     * @return result of {@link Publication#offer} or {@link Publication#tryClaim}
+     */
+    abstract long publish0(B buffer);
+
+    /**
+     * Encodes the given buffer into the destination.
+     *
+     * @param buffer abstract buffer
+     * @param destination destination buffer
+     * @param offset offset in the destination
+     * @param limit limit in the destination
+     * @return encoded length or -1 if there is not enough room in the destination
+     */
+    abstract int encode0(B buffer, MutableDirectBuffer destination, int offset, int limit);
+
+    abstract void dispose0(B buffer);
+
     private Mono<Void> onDispose() {
       return onDispose;
     }
 
     private void request() {
-      if (requested || isDisposed()) {
+      if (isDisposed()) {
         return;
       }
 
       Subscription upstream = upstream();
-      if (upstream != null) {
+      if (upstream == null) {
+        return;
+      }
+      if (!requested) {
         requested = true;
-        upstream.request(1);
+        upstream.request(prefetch);
+      } else if (dropped > 0 && !shedding) {
+        int n = DROPPED.getAndSet(this, 0);
+        if (n > 0) {
+          upstream.request(n);
+        }
       }
     }
 
-    private void reset() {
-      resetBuffer();
+    /** Removes published item from the queue and replenishes upstream demand if needed. */
+    private void onPublished() {
+      start = 0;
+      attempts = 0;
+      shedding = false;
+      consume();
+    }
 
-      if (isDisposed()) {
-        removeSelf();
-        if (error != null) {
-          onDispose.onError(error);
-        } else {
-          onDispose.onComplete();
+    /**
+     * Drops the oldest item, i.e. the one which can't be published. Start time of unsuccessful
+     * attempts is kept, so the next item is handled by the policy right away.
+     */
+    private void dropOldest() {
+      consume();
+    }
+
+    private void consume() {
+      disposeBuffer(queue.poll());
+
+      if (++produced == limit) {
+        int n = produced;
+        produced = 0;
+        Subscription upstream = upstream();
+        if (upstream != null && !isDisposed()) {
+          upstream.request(n);
         }
-        return;
       }
+    }
 
-      start = 0;
-      requested = false;
+    /**
+     * Makes items arriving from upstream to be dropped until the oldest item is published. Upstream
+     * demand of dropped items is not replenished till then, so upstream is not spun on.
+     */
+    private void dropNewest() {
+      shedding = true;
+    }
+
+    /** Completes this processor once upstream is terminated and all items have been published. */
+    private void tryFinish() {
+      // order matters: all items offered before the terminal signal are visible after reading it,
+      // and the signal is read once, so the error it carries can't be missed
+      Object terminal = this.terminal;
+      if (finished || terminal == null || !queue.isEmpty() || parent.batchCount > 0) {
+        return;
+      }
+      finished = true;
+      removeSelf();
+      if (terminal instanceof Throwable) {
+        onDispose.onError((Throwable) terminal);
+      } else {
+        onDispose.onComplete();
+      }
     }
 
     @Override
@@ -266,59 +669,61 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
 
     @Override
     protected void hookOnNext(B value) {
-      if (buffer != null) {
-        try {
-          bufferHandler.dispose(value);
-        } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", value, ex);
-        }
+      if (shedding) {
+        disposeBuffer(value);
+        DROPPED.incrementAndGet(this);
+        return;
+      }
+      if (!queue.offer(value)) {
+        disposeBuffer(value);
         throw Exceptions.failWithOverflow(
             "PublisherProcessor is overrun by more signals than expected");
       }
-      buffer = value;
+    }
+
+    @Override
+    protected void hookOnComplete() {
+      terminal = COMPLETE;
     }
 
     @Override
     protected void hookOnError(Throwable throwable) {
-      error = throwable;
+      terminal = throwable;
     }
 
     @Override
-    protected void hookFinally(SignalType type) {
-      if (buffer == null) {
-        reset();
+    protected void hookOnCancel() {
+      if (terminal == null) {
+        terminal = COMPLETE;
       }
     }
 
     private long publish(B buffer) {
       if (start == 0) {
-        start = System.currentTimeMillis();
+        start = parent.clock.nanoTime();
       }
-      return parent.publication.offer(bufferHandler.map(buffer));
-    }
-
-    private boolean isTimeoutElapsed(Duration timeout) {
-      return System.currentTimeMillis() - start > timeout.toMillis();
+      return parent.batchBuffer != null ? parent.appendToBatch(this, buffer) : publish0(buffer);
     }
 
     private void cancelDueTo(Throwable throwable) {
       try {
         cancel();
-        resetBuffer();
+        finished = true;
+        for (B buffer = queue.poll(); buffer != null; buffer = queue.poll()) {
+          disposeBuffer(buffer);
+        }
         onDispose.onError(throwable);
       } catch (Exception ex) {
         // no-op
       }
     }
 
-    private void resetBuffer() {
-      B oldBuffer = buffer;
-      buffer = null;
-      if (oldBuffer != null) {
+    private void disposeBuffer(B buffer) {
+      if (buffer != null) {
         try {
-          bufferHandler.dispose(oldBuffer);
+          dispose0(buffer);
         } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", oldBuffer, ex);
+          logger.warn("Failed to release buffer: {}", buffer, ex);
         }
       }
     }
@@ -341,4 +746,88 @@ public final class PublicationAgent implements Agent, AeronOutbound, Disposable
       } while (!PUBLISHER_PROCESSORS.compareAndSet(parent, oldArray, newArray));
     }
   }
+
+  private static class OfferProcessor<B> extends PublisherProcessor<B> {
+
+    private final DirectBufferHandler<? super B> bufferHandler;
+
+    OfferProcessor(
+        DirectBufferHandler<? super B> bufferHandler, int prefetch, PublicationAgent parent) {
+      super(prefetch, parent);
+      this.bufferHandler = bufferHandler;
+    }
+
+    @Override
+    long publish0(B buffer) {
+      return parent.publication.offer(bufferHandler.map(buffer));
+    }
+
+    @Override
+    int encode0(B buffer, MutableDirectBuffer destination, int offset, int limit) {
+      DirectBuffer source = bufferHandler.map(buffer);
+      int length = source.capacity();
+      if (offset + length > limit) {
+        return -1;
+      }
+      destination.putBytes(offset, source, 0, length);
+      return length;
+    }
+
+    @Override
+    void dispose0(B buffer) {
+      bufferHandler.dispose(buffer);
+    }
+  }
+
+  private static class ClaimProcessor<B> extends PublisherProcessor<B> {
+
+    private final DirectBufferWriter<? super B> bufferWriter;
+
+    ClaimProcessor(
+        DirectBufferWriter<? super B> bufferWriter, int prefetch, PublicationAgent parent) {
+      super(prefetch, parent);
+      this.bufferWriter = bufferWriter;
+    }
+
+    @Override
+    long publish0(B buffer) {
+      Publication publication = parent.publication;
+      int length = bufferWriter.length(buffer);
+
+      if (length > publication.maxPayloadLength()) {
+        // message would be fragmented, hence can't be claimed, go through the scratch buffer
+        MutableDirectBuffer scratchBuffer = parent.scratchBuffer(length);
+        bufferWriter.write(buffer, scratchBuffer, 0);
+        return publication.offer(scratchBuffer, 0, length);
+      }
+
+      BufferClaim bufferClaim = parent.bufferClaim;
+      long result = publication.tryClaim(length, bufferClaim);
+      if (result > 0) {
+        try {
+          bufferWriter.write(buffer, bufferClaim.buffer(), bufferClaim.offset());
+          bufferClaim.commit();
+        } catch (RuntimeException ex) {
+          bufferClaim.abort();
+          throw ex;
+        }
+      }
+      return result;
+    }
+
+    @Override
+    int encode0(B buffer, MutableDirectBuffer destination, int offset, int limit) {
+      int length = bufferWriter.length(buffer);
+      if (offset + length > limit) {
+        return -1;
+      }
+      bufferWriter.write(buffer, destination, offset);
+      return length;
+    }
+
+    @Override
+    void dispose0(B buffer) {
+      bufferWriter.dispose(buffer);
+    }
+  }
 }
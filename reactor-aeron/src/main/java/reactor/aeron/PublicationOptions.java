@@ -0,0 +1,175 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Immutable wrapper around options of {@link PublicationAgent}. Every setter produces new {@code
+ * PublicationOptions} object.
+ */
+public final class PublicationOptions {
+
+  private int prefetch = PublicationAgent.DEFAULT_PREFETCH;
+  private int batchMaxBytes = 0;
+  private Duration batchLinger = Duration.ZERO;
+  private Duration connectTimeout = Duration.ofSeconds(5);
+  private Duration backpressureTimeout = Duration.ofSeconds(5);
+  private Duration adminActionTimeout = Duration.ofSeconds(5);
+  private BackpressurePolicy backpressurePolicy = BackpressurePolicy.terminate();
+
+  public PublicationOptions() {}
+
+  private PublicationOptions(PublicationOptions other) {
+    this.prefetch = other.prefetch;
+    this.batchMaxBytes = other.batchMaxBytes;
+    this.batchLinger = other.batchLinger;
+    this.connectTimeout = other.connectTimeout;
+    this.backpressureTimeout = other.backpressureTimeout;
+    this.adminActionTimeout = other.adminActionTimeout;
+    this.backpressurePolicy = other.backpressurePolicy;
+  }
+
+  public int prefetch() {
+    return prefetch;
+  }
+
+  /**
+   * Setting number of items requested at once from upstream of every send. Items are buffered in
+   * front of the publication and upstream demand is replenished when 75% of them have been
+   * published.
+   *
+   * @param prefetch number of items requested at once
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions prefetch(int prefetch) {
+    if (prefetch <= 0) {
+      throw new IllegalArgumentException("prefetch must be positive, but was: " + prefetch);
+    }
+    return set(s -> s.prefetch = prefetch);
+  }
+
+  public int batchMaxBytes() {
+    return batchMaxBytes;
+  }
+
+  /**
+   * Setting max length of a batch frame (see {@link MessageBatch}). The value is capped by {@code
+   * maxPayloadLength} of the publication. Zero value (the default) disables batching.
+   *
+   * @param batchMaxBytes max length of batch frame in bytes
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions batchMaxBytes(int batchMaxBytes) {
+    if (batchMaxBytes < 0) {
+      throw new IllegalArgumentException("batchMaxBytes must be non-negative: " + batchMaxBytes);
+    }
+    return set(s -> s.batchMaxBytes = batchMaxBytes);
+  }
+
+  public Duration batchLinger() {
+    return batchLinger;
+  }
+
+  /**
+   * Setting max time a non-full batch may wait for more messages before it gets published. Zero
+   * value (the default) means a batch is published at the end of every duty cycle.
+   *
+   * @param batchLinger max linger time of non-full batch
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions batchLinger(Duration batchLinger) {
+    return set(s -> s.batchLinger = batchLinger);
+  }
+
+  public Duration connectTimeout() {
+    return connectTimeout;
+  }
+
+  /**
+   * Setting max time a send may wait for the publication to get connected. Publication agent
+   * gets terminated once it's elapsed.
+   *
+   * @param connectTimeout connect timeout
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions connectTimeout(Duration connectTimeout) {
+    return set(s -> s.connectTimeout = connectTimeout);
+  }
+
+  public Duration backpressureTimeout() {
+    return backpressureTimeout;
+  }
+
+  /**
+   * Setting max time an item may stay back pressured before {@link #backpressurePolicy()} gives
+   * up on it.
+   *
+   * @param backpressureTimeout backpressure timeout
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions backpressureTimeout(Duration backpressureTimeout) {
+    return set(s -> s.backpressureTimeout = backpressureTimeout);
+  }
+
+  public Duration adminActionTimeout() {
+    return adminActionTimeout;
+  }
+
+  /**
+   * Setting max time a send may wait for admin action of the publication to get resolved.
+   * Publication agent gets terminated once it's elapsed.
+   *
+   * @param adminActionTimeout admin action timeout
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions adminActionTimeout(Duration adminActionTimeout) {
+    return set(s -> s.adminActionTimeout = adminActionTimeout);
+  }
+
+  public BackpressurePolicy backpressurePolicy() {
+    return backpressurePolicy;
+  }
+
+  /**
+   * Setting policy applied to back pressured items. Default is {@link
+   * BackpressurePolicy#terminate()}.
+   *
+   * @param backpressurePolicy backpressure policy
+   * @return new {@code PublicationOptions} object
+   */
+  public PublicationOptions backpressurePolicy(BackpressurePolicy backpressurePolicy) {
+    Objects.requireNonNull(backpressurePolicy, "backpressurePolicy cannot be null");
+    return set(s -> s.backpressurePolicy = backpressurePolicy);
+  }
+
+  public boolean isBatchingEnabled() {
+    return batchMaxBytes > 0;
+  }
+
+  private PublicationOptions set(Consumer<PublicationOptions> c) {
+    PublicationOptions s = new PublicationOptions(this);
+    c.accept(s);
+    return s;
+  }
+
+  @Override
+  public String toString() {
+    return "PublicationOptions{"
+        + "prefetch="
+        + prefetch
+        + ", batchMaxBytes="
+        + batchMaxBytes
+        + ", batchLinger="
+        + batchLinger
+        + ", connectTimeout="
+        + connectTimeout
+        + ", backpressureTimeout="
+        + backpressureTimeout
+        + ", adminActionTimeout="
+        + adminActionTimeout
+        + ", backpressurePolicy="
+        + backpressurePolicy
+        + '}';
+  }
+}
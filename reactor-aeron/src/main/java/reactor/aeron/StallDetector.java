@@ -0,0 +1,165 @@
+package reactor.aeron;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+import org.agrona.concurrent.Agent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Duty cycle watchdog of {@link AeronEventLoop}, see {@link
+ * DynamicCompositeAgent#stallDetector(StallDetector)}.
+ *
+ * <p>Detector records histogram of cycle times, i.e. time between starts of consecutive {@link
+ * DynamicCompositeAgent#doWork()} invocations, and flags duty cycles whose work took longer than
+ * the threshold together with the slowest agent of the cycle. Since a blocked agent may never
+ * return, {@link #checkInProgress()} is meant to be called periodically from another thread, it
+ * flags the cycle which is still in progress longer than the threshold together with the agent
+ * being run.
+ */
+public final class StallDetector {
+
+  private static final Logger logger = LoggerFactory.getLogger(StallDetector.class);
+
+  private static final AtomicLongFieldUpdater<StallDetector> CYCLE_START =
+      AtomicLongFieldUpdater.newUpdater(StallDetector.class, "cycleStartNs");
+  private static final AtomicLongFieldUpdater<StallDetector> STALLS =
+      AtomicLongFieldUpdater.newUpdater(StallDetector.class, "stalls");
+  private static final AtomicReferenceFieldUpdater<StallDetector, Agent> CURRENT_AGENT =
+      AtomicReferenceFieldUpdater.newUpdater(StallDetector.class, Agent.class, "currentAgent");
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  /** Listener of stalls. */
+  @FunctionalInterface
+  public interface Listener {
+
+    /**
+     * Invoked on stall.
+     *
+     * @param eventLoop name of the stalled event loop
+     * @param agent role name of the slowest (or currently running) agent, or name of the event
+     *     loop if the time was spent outside of agents
+     * @param durationNs duration of the stall
+     * @param inProgress whether the cycle is still in progress, it's reported once more when it
+     *     completes
+     */
+    void onStall(String eventLoop, String agent, long durationNs, boolean inProgress);
+  }
+
+  private final String name;
+  private final long thresholdNs;
+  private final Listener listener;
+  private final SingleWriterRecorder cycleTimes = new SingleWriterRecorder(SIGNIFICANT_DIGITS);
+
+  private long lastCycleStartNs;
+
+  // written by the event loop thread, read by checkInProgress
+  private volatile long cycleStartNs;
+  private volatile Agent currentAgent;
+  private volatile long stalls;
+
+  // written by checkInProgress
+  private volatile long reportedCycleStartNs;
+
+  /**
+   * Constructor.
+   *
+   * @param name name of event loop
+   * @param threshold duration of duty cycle work which is considered a stall
+   * @param listener listener of stalls
+   */
+  public StallDetector(String name, Duration threshold, Listener listener) {
+    this.name = name;
+    this.thresholdNs = threshold.toNanos();
+    this.listener = listener;
+  }
+
+  /**
+   * Returns listener which logs stalls with warn level.
+   *
+   * @return stall listener
+   */
+  public static Listener loggingListener() {
+    return (eventLoop, agent, durationNs, inProgress) ->
+        logger.warn(
+            "{} stalled {} {} ms in {}",
+            eventLoop,
+            inProgress ? "for" : "after",
+            TimeUnit.NANOSECONDS.toMillis(durationNs),
+            agent);
+  }
+
+  /**
+   * Returns histogram of cycle times (in ns) recorded since the previous invocation of this
+   * method.
+   *
+   * @return interval histogram
+   */
+  public synchronized Histogram intervalHistogram() {
+    return cycleTimes.getIntervalHistogram();
+  }
+
+  /**
+   * Returns number of completed duty cycles which exceeded the threshold.
+   *
+   * @return number of stalls
+   */
+  public long stalls() {
+    return stalls;
+  }
+
+  /** Flags the duty cycle which is in progress longer than the threshold, if any. */
+  public void checkInProgress() {
+    long start = cycleStartNs;
+    if (start == 0 || start == reportedCycleStartNs) {
+      return;
+    }
+    long durationNs = System.nanoTime() - start;
+    if (durationNs > thresholdNs && start == cycleStartNs) {
+      reportedCycleStartNs = start;
+      Agent agent = currentAgent;
+      report(agent != null ? agent.roleName() : name, durationNs, true);
+    }
+  }
+
+  void onCycleStart(long nowNs) {
+    if (lastCycleStartNs != 0) {
+      cycleTimes.recordValue(nowNs - lastCycleStartNs);
+    }
+    lastCycleStartNs = nowNs;
+    CYCLE_START.lazySet(this, nowNs);
+  }
+
+  void onAgentStart(Agent agent) {
+    CURRENT_AGENT.lazySet(this, agent);
+  }
+
+  void onCycleEnd(long nowNs, Agent slowestAgent) {
+    long start = cycleStartNs;
+    CYCLE_START.lazySet(this, 0);
+    CURRENT_AGENT.lazySet(this, null);
+    long durationNs = nowNs - start;
+    if (durationNs > thresholdNs) {
+      STALLS.lazySet(this, stalls + 1);
+      report(slowestAgent != null ? slowestAgent.roleName() : name, durationNs, false);
+    }
+  }
+
+  private void report(String agent, long durationNs, boolean inProgress) {
+    try {
+      listener.onStall(name, agent, durationNs, inProgress);
+    } catch (Exception ex) {
+      logger.warn("Stall listener failed: {}", ex.toString());
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "StallDetector{" + name + ", thresholdNs=" + thresholdNs + ", stalls=" + stalls + '}';
+  }
+}
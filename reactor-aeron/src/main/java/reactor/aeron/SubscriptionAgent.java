@@ -1,5 +1,6 @@
 package reactor.aeron;
 
+import io.aeron.Aeron;
 import io.aeron.ControlledFragmentAssembler;
 import io.aeron.Subscription;
 import io.aeron.logbuffer.ControlledFragmentHandler;
@@ -8,6 +9,8 @@ import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2IntHashMap;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.AgentTerminationException;
 import org.slf4j.Logger;
@@ -34,21 +37,30 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
 
   private static final CoreSubscriber CANCELLED_SUBSCRIBER = new CancelledSubscriber();
 
-  private static final int FRAGMENT_LIMIT = 10;
+  public static final int DEFAULT_FRAGMENT_LIMIT = 10;
 
   private final FluxReceive inbound = new FluxReceive();
+  private final FluxReceiveBatches inboundBatches = new FluxReceiveBatches();
+  private final FragmentBatch batch = new FragmentBatch();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
   private final Subscription subscription;
   private final boolean shouldCloseSubscription;
 
   private final FragmentMapper<T> mapper;
+  private final FragmentLimit fragmentLimit;
   private final ControlledFragmentHandler fragmentHandler =
       new ControlledFragmentAssembler(new AgentFragmentHandler());
 
   private volatile long requested;
   private volatile boolean fastPath;
+  private volatile boolean batchMode;
   private long produced;
+  private long demand;
+  // where delivery stopped inside an aborted batch frame, by session id of the image: poll goes on
+  // with other images after abort, so every image keeps its own resume point
+  private final Long2LongHashMap batchResumePositions = new Long2LongHashMap(Aeron.NULL_VALUE);
+  private final Int2IntHashMap batchResumeOffsets = new Int2IntHashMap(Aeron.NULL_VALUE);
   private volatile CoreSubscriber<T> destinationSubscriber;
   private Exception ex;
 
@@ -61,9 +73,35 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
    */
   public SubscriptionAgent(
       Subscription subscription, FragmentMapper<T> mapper, boolean shouldCloseSubscription) {
+    this(
+        subscription,
+        mapper,
+        shouldCloseSubscription,
+        DEFAULT_FRAGMENT_LIMIT,
+        DEFAULT_FRAGMENT_LIMIT);
+  }
+
+  /**
+   * Creates subscription agent.
+   *
+   * @param subscription subscription
+   * @param mapper fragment mapper
+   * @param shouldCloseSubscription should the agent close subscription when the agent is closed?
+   * @param fragmentLimit number of fragments polled at once
+   * @param maxFragmentLimit upper bound of adaptive fragment limit. If it's greater than {@code
+   *     fragmentLimit} then per-poll limit grows while there is a backlog and outstanding demand,
+   *     and shrinks back when the agent gets idle.
+   */
+  public SubscriptionAgent(
+      Subscription subscription,
+      FragmentMapper<T> mapper,
+      boolean shouldCloseSubscription,
+      int fragmentLimit,
+      int maxFragmentLimit) {
     this.subscription = subscription;
     this.mapper = mapper;
     this.shouldCloseSubscription = shouldCloseSubscription;
+    this.fragmentLimit = new FragmentLimit(fragmentLimit, maxFragmentLimit);
   }
 
   @Override
@@ -95,13 +133,22 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
       }
       throw new AgentTerminationException("Subscription is closed");
     }
+    if (batchMode) {
+      return pollBatch();
+    }
     if (fastPath) {
-      return subscription.controlledPoll(fragmentHandler, FRAGMENT_LIMIT);
+      demand = Long.MAX_VALUE;
+      int fragments = subscription.controlledPoll(fragmentHandler, fragmentLimit.value());
+      fragmentLimit.update(fragments, Long.MAX_VALUE);
+      return fragments;
     }
-    int r = (int) Math.min(requested, FRAGMENT_LIMIT);
+    long n = requested;
+    int r = (int) Math.min(n, fragmentLimit.value());
     int fragments = 0;
     if (r > 0) {
+      demand = n;
       fragments = subscription.controlledPoll(fragmentHandler, r);
+      fragmentLimit.update(fragments, n - produced);
       if (produced > 0) {
         Operators.produced(REQUESTED, this, produced);
         produced = 0;
@@ -110,6 +157,32 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
     return fragments;
   }
 
+  /**
+   * Polls fragments into the batch and emits it as a single item, demand is counted in batches.
+   *
+   * @return number of polled fragments
+   */
+  private int pollBatch() {
+    long n = requested;
+    if (n <= 0) {
+      return 0;
+    }
+    int fragments = subscription.controlledPoll(fragmentHandler, fragmentLimit.value());
+    fragmentLimit.update(fragments, n > 1 ? Long.MAX_VALUE : 0);
+    if (!batch.isEmpty()) {
+      CoreSubscriber destination = destinationSubscriber;
+      try {
+        destination.onNext(batch);
+      } catch (Exception e) {
+        ex = e;
+      } finally {
+        batch.clear();
+      }
+      Operators.produced(REQUESTED, this, 1);
+    }
+    return fragments;
+  }
+
   @Override
   public void onClose() {
     inbound.cancel();
@@ -130,6 +203,11 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
     return inbound;
   }
 
+  @Override
+  public Flux<FragmentBatch> receiveBatches() {
+    return inboundBatches;
+  }
+
   @Override
   public void dispose() {
     CoreSubscriber destination =
@@ -158,6 +236,16 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
         if (CANCELLED_SUBSCRIBER.equals(destination)) {
           return Action.ABORT;
         }
+        if (batchMode) {
+          addToBatch(buffer, offset, length, header);
+          return Action.CONTINUE;
+        }
+        if (MessageBatch.isBatch(header)) {
+          return onBatch(destination, buffer, offset, length, header);
+        }
+        if (produced >= demand) {
+          return Action.ABORT;
+        }
         T t = mapper.apply(buffer, offset, length, header);
         if (t != null) {
           destination.onNext(t);
@@ -169,6 +257,57 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
       }
       return Action.CONTINUE;
     }
+
+    private void addToBatch(DirectBuffer buffer, int offset, int length, Header header) {
+      if (!MessageBatch.isBatch(header)) {
+        batch.add(buffer, offset, length);
+        return;
+      }
+      for (int index = offset, limit = offset + length; index < limit; ) {
+        int messageLength = buffer.getInt(index, MessageBatch.BYTE_ORDER);
+        int messageOffset = index + MessageBatch.LENGTH_FIELD_LENGTH;
+        batch.add(buffer, messageOffset, messageLength);
+        index = messageOffset + messageLength;
+      }
+    }
+
+    /**
+     * Unpacks messages of the batch frame (see {@link MessageBatch}). If there is not enough demand
+     * for all of them, the frame is aborted and gets redelivered on the next poll, in that case
+     * delivery resumes right after the last emitted message.
+     */
+    private Action onBatch(
+        CoreSubscriber<T> destination,
+        DirectBuffer buffer,
+        int offset,
+        int length,
+        Header header) {
+      int sessionId = header.sessionId();
+      long position = header.position();
+      int limit = offset + length;
+      int index = offset;
+      if (batchResumePositions.get(sessionId) == position) {
+        index += batchResumeOffsets.get(sessionId);
+      }
+      while (index < limit) {
+        if (produced >= demand) {
+          batchResumePositions.put(sessionId, position);
+          batchResumeOffsets.put(sessionId, index - offset);
+          return Action.ABORT;
+        }
+        int messageLength = buffer.getInt(index, MessageBatch.BYTE_ORDER);
+        int messageOffset = index + MessageBatch.LENGTH_FIELD_LENGTH;
+        index = messageOffset + messageLength;
+        T t = mapper.apply(buffer, messageOffset, messageLength, header);
+        if (t != null) {
+          destination.onNext(t);
+          produced++;
+        }
+      }
+      batchResumePositions.remove(sessionId);
+      batchResumeOffsets.remove(sessionId);
+      return Action.CONTINUE;
+    }
   }
 
   private class FluxReceive extends Flux<T> implements org.reactivestreams.Subscription {
@@ -198,17 +337,30 @@ public class SubscriptionAgent<T> implements Agent, AeronInbound<T>, Disposable
 
     @Override
     public void subscribe(CoreSubscriber<? super T> destinationSubscriber) {
+      subscribe(destinationSubscriber, false);
+    }
+
+    private void subscribe(CoreSubscriber<?> destinationSubscriber, boolean batches) {
       boolean result =
           DESTINATION_SUBSCRIBER.compareAndSet(SubscriptionAgent.this, null, destinationSubscriber);
       if (result) {
+        batchMode = batches;
         destinationSubscriber.onSubscribe(this);
       } else {
-        // only subscriber is allowed on receive()
+        // only subscriber is allowed on receive() or receiveBatches()
         Operators.error(destinationSubscriber, Exceptions.duplicateOnSubscribeException());
       }
     }
   }
 
+  private class FluxReceiveBatches extends Flux<FragmentBatch> {
+
+    @Override
+    public void subscribe(CoreSubscriber<? super FragmentBatch> destinationSubscriber) {
+      inbound.subscribe(destinationSubscriber, true);
+    }
+  }
+
   private static class CancelledSubscriber implements CoreSubscriber {
 
     @Override
@@ -0,0 +1,55 @@
+package reactor.aeron;
+
+import org.agrona.concurrent.IdleStrategy;
+
+/**
+ * {@link IdleStrategy} which delegates to a strategy that may be replaced at runtime from any
+ * thread. Replacement is picked up (and reset) by the idling thread on its next idle call.
+ */
+final class SwitchableIdleStrategy implements IdleStrategy {
+
+  private volatile IdleStrategy next;
+  private IdleStrategy current;
+
+  SwitchableIdleStrategy(IdleStrategy idleStrategy) {
+    this.current = idleStrategy;
+    this.next = idleStrategy;
+  }
+
+  void switchTo(IdleStrategy idleStrategy) {
+    next = idleStrategy;
+  }
+
+  IdleStrategy get() {
+    return next;
+  }
+
+  @Override
+  public void idle(int workCount) {
+    current().idle(workCount);
+  }
+
+  @Override
+  public void idle() {
+    current().idle();
+  }
+
+  @Override
+  public void reset() {
+    current().reset();
+  }
+
+  private IdleStrategy current() {
+    IdleStrategy next = this.next;
+    if (next != current) {
+      current = next;
+      next.reset();
+    }
+    return next;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(next);
+  }
+}
@@ -0,0 +1,83 @@
+package reactor.aeron;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Native-free {@link CpuAffinity} for Linux, it resolves id of the current thread from {@code
+ * /proc/thread-self} and applies affinity with {@code taskset -p -c}.
+ */
+final class TasksetCpuAffinity implements CpuAffinity {
+
+  private static final Logger logger = LoggerFactory.getLogger(TasksetCpuAffinity.class);
+
+  private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+  private static final long TASKSET_TIMEOUT_SECONDS = 5;
+
+  private final List<String> cpuLists;
+
+  TasksetCpuAffinity(List<String> cpuLists) {
+    this.cpuLists = cpuLists;
+  }
+
+  @Override
+  public void bind(int workerId) {
+    String cpuList = cpuLists.get(workerId % cpuLists.size());
+    String threadName = Thread.currentThread().getName();
+    try {
+      if (!Files.exists(THREAD_SELF)) {
+        logger.warn(
+            "Can't bind {} to cpus {}: {} is not available", threadName, cpuList, THREAD_SELF);
+        return;
+      }
+      // link target is <pid>/task/<tid>
+      String tid = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+      Process process =
+          new ProcessBuilder("taskset", "-p", "-c", cpuList, tid).redirectErrorStream(true).start();
+      if (!process.waitFor(TASKSET_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+        logger.warn("Can't bind {} to cpus {}: taskset timed out", threadName, cpuList);
+        return;
+      }
+      // output is a couple of lines, so it fits into the pipe and can be read after exit
+      String output = readOutput(process);
+      if (process.exitValue() != 0) {
+        logger.warn(
+            "Can't bind {} to cpus {}: taskset exited with {}: {}",
+            threadName,
+            cpuList,
+            process.exitValue(),
+            output);
+      } else {
+        logger.debug("Bound {} (tid: {}) to cpus {}: {}", threadName, tid, cpuList, output);
+      }
+    } catch (IOException ex) {
+      logger.warn("Can't bind {} to cpus {}: {}", threadName, cpuList, ex.toString());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static String readOutput(Process process) throws IOException {
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+      return reader.lines().collect(Collectors.joining("; "));
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "TasksetCpuAffinity" + cpuLists;
+  }
+}
@@ -66,6 +66,25 @@ public final class AeronChannelUriString {
     return new AeronChannelUriString(o.apply(builder()));
   }
 
+  /**
+   * Produces copy of this channel uri with {@code aeron:ipc} media. UDP specific settings
+   * (endpoints, control mode, reliability, ttl and network interface) are cleared, the rest is
+   * kept.
+   *
+   * @return new {@code AeronChannelUriString} object
+   */
+  public AeronChannelUriString ipc() {
+    return uri(
+        b ->
+            b.media("ipc")
+                .reliable((Boolean) null)
+                .endpoint((String) null)
+                .controlEndpoint((String) null)
+                .controlMode((String) null)
+                .ttl((Integer) null)
+                .networkInterface((String) null));
+  }
+
   @Override
   public String toString() {
     return "AeronChannelUriString{" + asString() + "}";
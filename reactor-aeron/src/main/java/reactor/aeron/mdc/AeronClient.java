@@ -81,6 +81,33 @@ public final class AeronClient {
             });
   }
 
+  /**
+   * Shortcut client settings for server which shares media driver with the client, see {@link
+   * #ipc(int)}. Uses {@link AeronOptions#DEFAULT_STREAM_ID}.
+   *
+   * @return new {@code AeronClient} with applied options
+   */
+  public AeronClient ipc() {
+    return ipc(AeronOptions.DEFAULT_STREAM_ID);
+  }
+
+  /**
+   * Shortcut client settings for server which shares media driver with the client, see {@link
+   * AeronServer#ipc(int)}.
+   *
+   * @param streamId server stream id
+   * @return new {@code AeronClient} with applied options
+   */
+  public AeronClient ipc(int streamId) {
+    return new AeronClient(options)
+        .options(
+            opts ->
+                opts.outboundUri(opts.outboundUri().ipc()) // Pub
+                    .inboundUri(opts.inboundUri().ipc()) // Sub(sessionId)
+                    .outboundStreamId(streamId)
+                    .inboundStreamId(streamId + 1));
+  }
+
   /**
    * Attach IO handler to react on connected client.
    *
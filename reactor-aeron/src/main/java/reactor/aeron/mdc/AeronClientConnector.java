@@ -1,5 +1,6 @@
 package reactor.aeron.mdc;
 
+import io.aeron.Aeron;
 import io.aeron.Image;
 import io.aeron.Publication;
 import java.time.Duration;
@@ -7,14 +8,11 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.Agent;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.aeron.AeronDuplex;
-import reactor.aeron.AeronEventLoop;
 import reactor.aeron.DefaultAeronDuplex;
-import reactor.aeron.DefaultFragmentMapper;
 import reactor.aeron.ImageAgent;
 import reactor.aeron.PublicationAgent;
 import reactor.core.publisher.Mono;
@@ -32,13 +30,9 @@ final class AeronClientConnector {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronClientConnector.class);
 
-  /** The stream ID that the server and client use for messages. */
-  private static final int STREAM_ID = 0xcafe0000;
-
   private final AeronOptions options;
   private final AeronResources resources;
   private final Function<? super AeronDuplex<DirectBuffer>, ? extends Publisher<Void>> handler;
-  private final DefaultFragmentMapper mapper = new DefaultFragmentMapper();
 
   AeronClientConnector(AeronOptions options) {
     this.options = options;
@@ -75,7 +69,7 @@ final class AeronClientConnector {
                     return resources
                         .subscription(
                             inboundChannel,
-                            STREAM_ID,
+                            options.inboundStreamId(),
                             image -> {
                               logger.debug(
                                   "{}: created client inbound", Integer.toHexString(sessionId));
@@ -98,9 +92,16 @@ final class AeronClientConnector {
                         .flatMap(subscription -> inboundAvailable)
                         .map(
                             image -> {
-                              PublicationAgent outbound = new PublicationAgent(publication);
+                              PublicationAgent outbound =
+                                  new PublicationAgent(publication, options.publicationOptions());
                               ImageAgent<DirectBuffer> inbound =
-                                  new ImageAgent<>(image, mapper, true);
+                                  new ImageAgent<>(
+                                      image,
+                                      options.fragmentMapper().get(),
+                                      true,
+                                      Aeron.NULL_VALUE,
+                                      resources.pollFragmentLimit(),
+                                      resources.maxPollFragmentLimit());
                               return new DefaultAeronDuplex<>(inbound, outbound);
                             })
                         .doOnSuccess(
@@ -113,9 +114,8 @@ final class AeronClientConnector {
                                 handler.apply(connection).subscribe(connection.disposeSubscriber());
                               }
 
-                              AeronEventLoop eventLoop = resources.nextEventLoop();
-                              eventLoop.register((Agent) connection.inbound());
-                              eventLoop.register((Agent) connection.outbound());
+                              resources.register(
+                                  connection, options.eventLoop(), options.priority());
                             })
                         .doOnSuccess(
                             connection ->
@@ -135,7 +135,7 @@ final class AeronClientConnector {
 
           // outbound->Pub(endpoint, sessionId)
           return Mono.fromCallable(this::getOutboundChannel)
-              .flatMap(channel -> resources.publication(channel, STREAM_ID))
+              .flatMap(channel -> resources.publication(channel, options.outboundStreamId()))
               .flatMap(
                   publication ->
                       ensureConnected(publication)
@@ -1,12 +1,21 @@
 package reactor.aeron.mdc;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import org.agrona.DirectBuffer;
 import org.reactivestreams.Publisher;
 import reactor.aeron.AeronDuplex;
+import reactor.aeron.AeronEventLoop;
+import reactor.aeron.AgentPriority;
+import reactor.aeron.BackpressurePolicy;
+import reactor.aeron.DefaultFragmentMapper;
+import reactor.aeron.FlyweightFragmentMapper;
+import reactor.aeron.FragmentMapper;
+import reactor.aeron.PublicationAgent;
+import reactor.aeron.PublicationOptions;
 
 /**
  * Immutable wrapper around options for full-duplex aeron <i>connection</i> between client and
@@ -15,15 +24,27 @@ import reactor.aeron.AeronDuplex;
  */
 public final class AeronOptions {
 
+  /** The stream ID that the server and client use for messages by default. */
+  public static final int DEFAULT_STREAM_ID = 0xcafe0000;
+
   private AeronResources resources;
   private Function<? super AeronDuplex<DirectBuffer>, ? extends Publisher<Void>> handler;
   private AeronChannelUriString inboundUri = new AeronChannelUriString();
   private AeronChannelUriString outboundUri = new AeronChannelUriString();
+  private int inboundStreamId = DEFAULT_STREAM_ID;
+  private int outboundStreamId = DEFAULT_STREAM_ID;
   private Duration connectTimeout = Duration.ofSeconds(5);
   private int connectRetryCount = 3;
   private Duration backpressureTimeout = Duration.ofSeconds(5);
   private Duration adminActionTimeout = Duration.ofSeconds(5);
+  private int prefetch = PublicationAgent.DEFAULT_PREFETCH;
+  private int batchMaxBytes = 0;
+  private Duration batchLinger = Duration.ZERO;
+  private BackpressurePolicy backpressurePolicy = BackpressurePolicy.terminate();
   private Supplier<Integer> sessionIdGenerator = new SecureRandomSessionIdGenerator();
+  private Supplier<FragmentMapper<DirectBuffer>> fragmentMapper = DefaultFragmentMapper::new;
+  private AeronEventLoop eventLoop;
+  private AgentPriority priority = AgentPriority.NORMAL;
 
   public AeronOptions() {}
 
@@ -32,11 +53,20 @@ public final class AeronOptions {
     this.handler = other.handler;
     this.inboundUri = other.inboundUri;
     this.outboundUri = other.outboundUri;
+    this.inboundStreamId = other.inboundStreamId;
+    this.outboundStreamId = other.outboundStreamId;
     this.connectTimeout = other.connectTimeout;
     this.backpressureTimeout = other.backpressureTimeout;
     this.adminActionTimeout = other.adminActionTimeout;
     this.sessionIdGenerator = other.sessionIdGenerator;
+    this.fragmentMapper = other.fragmentMapper;
     this.connectRetryCount = other.connectRetryCount;
+    this.prefetch = other.prefetch;
+    this.batchMaxBytes = other.batchMaxBytes;
+    this.batchLinger = other.batchLinger;
+    this.backpressurePolicy = other.backpressurePolicy;
+    this.eventLoop = other.eventLoop;
+    this.priority = other.priority;
   }
 
   public AeronResources resources() {
@@ -72,6 +102,34 @@ public final class AeronOptions {
     return set(s -> s.outboundUri = outboundUri);
   }
 
+  public int inboundStreamId() {
+    return inboundStreamId;
+  }
+
+  /**
+   * Setting stream id of inbound, it must match outbound stream id of the other side.
+   *
+   * @param inboundStreamId inbound stream id
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions inboundStreamId(int inboundStreamId) {
+    return set(s -> s.inboundStreamId = inboundStreamId);
+  }
+
+  public int outboundStreamId() {
+    return outboundStreamId;
+  }
+
+  /**
+   * Setting stream id of outbound, it must match inbound stream id of the other side.
+   *
+   * @param outboundStreamId outbound stream id
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions outboundStreamId(int outboundStreamId) {
+    return set(s -> s.outboundStreamId = outboundStreamId);
+  }
+
   public Duration connectTimeout() {
     return connectTimeout;
   }
@@ -104,6 +162,44 @@ public final class AeronOptions {
     return set(s -> s.adminActionTimeout = adminActionTimeout);
   }
 
+  public int prefetch() {
+    return prefetch;
+  }
+
+  public AeronOptions prefetch(int prefetch) {
+    return set(s -> s.prefetch = prefetch);
+  }
+
+  public int batchMaxBytes() {
+    return batchMaxBytes;
+  }
+
+  /**
+   * Setting max length of a frame into which outbound messages get coalesced. Zero value (the
+   * default) disables batching. Inbound side unpacks batches regardless of this setting. See
+   * {@link reactor.aeron.MessageBatch}.
+   *
+   * @param batchMaxBytes max length of batch frame in bytes
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions batchMaxBytes(int batchMaxBytes) {
+    return set(s -> s.batchMaxBytes = batchMaxBytes);
+  }
+
+  public Duration batchLinger() {
+    return batchLinger;
+  }
+
+  /**
+   * Setting max time a non-full outbound batch may wait for more messages.
+   *
+   * @param batchLinger max linger time of non-full batch
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions batchLinger(Duration batchLinger) {
+    return set(s -> s.batchLinger = batchLinger);
+  }
+
   public Supplier<Integer> sessionIdGenerator() {
     return sessionIdGenerator;
   }
@@ -112,6 +208,82 @@ public final class AeronOptions {
     return set(s -> s.sessionIdGenerator = sessionIdGenerator);
   }
 
+  public Supplier<FragmentMapper<DirectBuffer>> fragmentMapper() {
+    return fragmentMapper;
+  }
+
+  /**
+   * Setting supplier of inbound fragment mapper, it's invoked once per connection. Use {@code
+   * FlyweightFragmentMapper::new} to receive inbound messages without allocations, see {@link
+   * FlyweightFragmentMapper}.
+   *
+   * @param fragmentMapper supplier of fragment mapper
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions fragmentMapper(Supplier<FragmentMapper<DirectBuffer>> fragmentMapper) {
+    return set(s -> s.fragmentMapper = fragmentMapper);
+  }
+
+  public BackpressurePolicy backpressurePolicy() {
+    return backpressurePolicy;
+  }
+
+  /**
+   * Setting policy applied to outbound items which stay back pressured, see {@link
+   * #backpressureTimeout(Duration)}. Default policy terminates the connection.
+   *
+   * @param backpressurePolicy backpressure policy
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions backpressurePolicy(BackpressurePolicy backpressurePolicy) {
+    return set(s -> s.backpressurePolicy = backpressurePolicy);
+  }
+
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  /**
+   * Setting event loop for connections. Inbound and outbound of a connection always share event
+   * loop, by default it's chosen by {@link AeronResources#nextEventLoop()} and may be migrated
+   * later (see {@link AeronResources#rebalance(double, Duration)}). Connection with explicit event
+   * loop is pinned to it, so streams derived from the connection may be placed on the same thread,
+   * see {@link AeronResources#outbound(String, int, PublicationOptions, AeronEventLoop)}.
+   *
+   * @param eventLoop event loop, or null to choose it per connection
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions eventLoop(AeronEventLoop eventLoop) {
+    return set(s -> s.eventLoop = eventLoop);
+  }
+
+  public AgentPriority priority() {
+    return priority;
+  }
+
+  /**
+   * Setting priority lane of connections within their event loop, see {@link AgentPriority}. E.g.
+   * control connections may be {@link AgentPriority#HIGH} and replication ones {@link
+   * AgentPriority#BULK}, so they can share event loops without bulk traffic delaying control.
+   *
+   * @param priority priority lane
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions priority(AgentPriority priority) {
+    return set(s -> s.priority = Objects.requireNonNull(priority, "priority"));
+  }
+
+  PublicationOptions publicationOptions() {
+    return new PublicationOptions()
+        .prefetch(prefetch)
+        .batchMaxBytes(batchMaxBytes)
+        .batchLinger(batchLinger)
+        .connectTimeout(connectTimeout)
+        .backpressureTimeout(backpressureTimeout)
+        .adminActionTimeout(adminActionTimeout)
+        .backpressurePolicy(backpressurePolicy);
+  }
+
   private AeronOptions set(Consumer<AeronOptions> c) {
     AeronOptions s = new AeronOptions(this);
     c.accept(s);
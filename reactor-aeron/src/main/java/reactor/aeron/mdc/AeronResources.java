@@ -8,27 +8,48 @@ import io.aeron.Image;
 import io.aeron.Publication;
 import io.aeron.Subscription;
 import io.aeron.driver.MediaDriver;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
+import org.agrona.concurrent.Agent;
 import org.agrona.concurrent.BackoffIdleStrategy;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.SleepingIdleStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.aeron.AeronAgentCounters;
+import reactor.aeron.AeronDuplex;
 import reactor.aeron.AeronEventLoop;
 import reactor.aeron.AeronEventLoopGroup;
+import reactor.aeron.AeronEventLoopPlacement;
+import reactor.aeron.AeronEventLoopRebalancer;
 import reactor.aeron.AeronInbound;
 import reactor.aeron.AeronOutbound;
+import reactor.aeron.AgentMetrics;
+import reactor.aeron.AgentPriority;
+import reactor.aeron.CpuAffinity;
+import reactor.aeron.DuplexAgent;
 import reactor.aeron.FragmentMapper;
 import reactor.aeron.ImageAgent;
 import reactor.aeron.OnDisposable;
 import reactor.aeron.PublicationAgent;
+import reactor.aeron.PublicationOptions;
+import reactor.aeron.StallDetector;
 import reactor.aeron.SubscriptionAgent;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.scheduler.Scheduler;
@@ -41,13 +62,23 @@ public final class AeronResources implements OnDisposable {
   private static final Supplier<IdleStrategy> defaultBackoffIdleStrategySupplier =
       () -> new BackoffIdleStrategy(0, 0, 0, 1);
 
+  private static final String SHM_DIR_NAME = "/dev/shm";
+
+  private static final List<String> MEMORY_FILE_STORE_TYPES =
+      Arrays.asList("tmpfs", "ramfs", "hugetlbfs");
+
   // Settings
 
   private int pollFragmentLimit = 32;
+  private int maxPollFragmentLimit = 0;
   private int numOfWorkers = Runtime.getRuntime().availableProcessors();
 
   private Aeron.Context aeronContext =
-      new Aeron.Context().errorHandler(th -> logger.warn("Aeron exception occurred: " + th, th));
+      new Aeron.Context()
+          .errorHandler(th -> logger.warn("Aeron exception occurred: " + th, th))
+          // poll media driver responses more often than default 1ms sleep while adding
+          // publications and subscriptions
+          .awaitingIdleStrategy(new SleepingIdleStrategy(TimeUnit.MICROSECONDS.toNanos(50)));
 
   private MediaDriver.Context mediaContext =
       new MediaDriver.Context()
@@ -62,11 +93,25 @@ public final class AeronResources implements OnDisposable {
           .publicationReservedSessionIdHigh(Integer.MAX_VALUE);
 
   private Supplier<IdleStrategy> workerIdleStrategySupplier = defaultBackoffIdleStrategySupplier;
+  private Supplier<AeronEventLoopPlacement> eventLoopPlacementSupplier =
+      AeronEventLoopPlacement::roundRobin;
+  private ThreadFactory workerThreadFactory = Thread::new;
+  private CpuAffinity workerCpuAffinity = CpuAffinity.none();
+  private boolean agentCounters = false;
+  private Duration stallThreshold;
+  private double rebalanceThreshold = 0;
+  private Duration rebalanceInterval = Duration.ofSeconds(1);
+  private String externalDriverDirectoryName;
+  private Duration driverReconnectInterval = Duration.ofSeconds(1);
 
   // State
-  private Aeron aeron;
+  private volatile Aeron aeron;
   private MediaDriver mediaDriver;
   private AeronEventLoopGroup eventLoopGroup;
+  private AeronEventLoopRebalancer rebalancer;
+  // dedicated thread, so stalls are reported even when scheduler is blocked by media driver
+  private Scheduler stallWatchdog;
+  private Disposable driverWatchdog;
 
   private Scheduler scheduler = Schedulers.newSingle("AeronResources", true);
 
@@ -110,8 +155,18 @@ public final class AeronResources implements OnDisposable {
   private AeronResources(AeronResources that, Aeron.Context ac, MediaDriver.Context mdc) {
     this();
     this.pollFragmentLimit = that.pollFragmentLimit;
+    this.maxPollFragmentLimit = that.maxPollFragmentLimit;
     this.numOfWorkers = that.numOfWorkers;
     this.workerIdleStrategySupplier = that.workerIdleStrategySupplier;
+    this.eventLoopPlacementSupplier = that.eventLoopPlacementSupplier;
+    this.workerThreadFactory = that.workerThreadFactory;
+    this.workerCpuAffinity = that.workerCpuAffinity;
+    this.agentCounters = that.agentCounters;
+    this.stallThreshold = that.stallThreshold;
+    this.rebalanceThreshold = that.rebalanceThreshold;
+    this.rebalanceInterval = that.rebalanceInterval;
+    this.externalDriverDirectoryName = that.externalDriverDirectoryName;
+    this.driverReconnectInterval = that.driverReconnectInterval;
     copy(ac);
     copy(mdc);
   }
@@ -174,12 +229,18 @@ public final class AeronResources implements OnDisposable {
         .ipcTermBufferLength(mdc.ipcTermBufferLength())
         .ipcMtuLength(mdc.ipcMtuLength())
         .initialWindowLength(mdc.initialWindowLength())
+        .socketSndbufLength(mdc.socketSndbufLength())
+        .socketRcvbufLength(mdc.socketRcvbufLength())
         .filePageSize(mdc.filePageSize())
         .errorLog(mdc.errorLog());
   }
 
   private void copy(Aeron.Context ac) {
-    aeronContext
+    copy(ac, aeronContext);
+  }
+
+  private static void copy(Aeron.Context ac, Aeron.Context target) {
+    target
         .resourceLingerDurationNs(ac.resourceLingerDurationNs())
         .keepAliveIntervalNs(ac.keepAliveIntervalNs())
         .errorHandler(ac.errorHandler())
@@ -187,6 +248,7 @@ public final class AeronResources implements OnDisposable {
         .availableImageHandler(ac.availableImageHandler())
         .unavailableImageHandler(ac.unavailableImageHandler())
         .idleStrategy(ac.idleStrategy())
+        .awaitingIdleStrategy(ac.awaitingIdleStrategy())
         .aeronDirectoryName(ac.aeronDirectoryName())
         .availableCounterHandler(ac.availableCounterHandler())
         .unavailableCounterHandler(ac.unavailableCounterHandler())
@@ -198,12 +260,18 @@ public final class AeronResources implements OnDisposable {
   }
 
   private static String generateRandomTmpDirName() {
-    return IoUtil.tmpDirName()
-        + "aeron"
-        + '-'
-        + System.getProperty("user.name", "default")
-        + '-'
-        + UUID.randomUUID().toString();
+    return generateRandomDirName(IoUtil.tmpDirName());
+  }
+
+  private static String generateRandomDirName(String parentDirName) {
+    String dirName =
+        "aeron-" + System.getProperty("user.name", "default") + '-' + UUID.randomUUID().toString();
+    return new File(parentDirName, dirName).getPath();
+  }
+
+  private static boolean isDirectory(String dirName) {
+    File dir = new File(dirName);
+    return dir.isDirectory() && dir.canWrite();
   }
 
   /**
@@ -230,6 +298,60 @@ public final class AeronResources implements OnDisposable {
     return new AeronResources(this, c.aeronContext, mdc);
   }
 
+  /**
+   * Applies named set of media driver settings, see {@link MediaDriverProfile}. Settings which are
+   * not part of the profile are kept, so it can be combined with {@link #media(UnaryOperator)}.
+   *
+   * @param profile media driver profile
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources mediaProfile(MediaDriverProfile profile) {
+    return media(profile);
+  }
+
+  /**
+   * Shortcut for {@code externalDriver(CommonContext.getAeronDirectoryName())}.
+   *
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources externalDriver() {
+    return externalDriver(CommonContext.getAeronDirectoryName());
+  }
+
+  /**
+   * Setter for aeron directory of external media driver. By default media driver is launched
+   * embedded, with this setting aeron client connects to already running media driver instead
+   * (e.g. dedicated driver process shared by all services on the host) and {@link
+   * #media(UnaryOperator)} settings are ignored.
+   *
+   * <p>Liveness of external media driver is monitored by aeron client, see {@code
+   * Aeron.Context#driverTimeoutMs(long)}. When it's lost (e.g. driver is restarted) the client is
+   * closed together with its publications and subscriptions, and new client is connected as soon
+   * as media driver is active again, see {@link #driverReconnectInterval(Duration)}. Connections
+   * created before must be re-established by application.
+   *
+   * @param aeronDirectoryName aeron directory of external media driver
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources externalDriver(String aeronDirectoryName) {
+    AeronResources c = copy();
+    c.externalDriverDirectoryName = aeronDirectoryName;
+    return c;
+  }
+
+  /**
+   * Setter for interval of checking whether aeron client is connected to external media driver and
+   * reconnecting it, see {@link #externalDriver(String)}. By default it's one second.
+   *
+   * @param interval reconnect interval
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources driverReconnectInterval(Duration interval) {
+    AeronResources c = copy();
+    c.driverReconnectInterval = interval;
+    return c;
+  }
+
   /**
    * Set to use temp directory instead of default aeron directory.
    *
@@ -239,6 +361,41 @@ public final class AeronResources implements OnDisposable {
     return media(mdc -> mdc.aeronDirectoryName(generateRandomTmpDirName()));
   }
 
+  /**
+   * Set to use directory in shared memory ({@code /dev/shm}) instead of default aeron directory, so
+   * term buffers are backed by memory rather than by disk. Falls back to {@link #useTmpDir()} when
+   * {@code /dev/shm} is not available, e.g. on non-linux hosts.
+   *
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources useShmDir() {
+    if (!isDirectory(SHM_DIR_NAME)) {
+      return useTmpDir();
+    }
+    return media(mdc -> mdc.aeronDirectoryName(generateRandomDirName(SHM_DIR_NAME)));
+  }
+
+  /**
+   * Set to use directory on hugetlbfs mount instead of default aeron directory, so term buffers are
+   * backed by huge pages and take less TLB entries. Term files are created sparse since hugetlbfs
+   * doesn't support writes, and their lengths are aligned to huge page size. Falls back to {@link
+   * #useShmDir()} when mount directory is not available.
+   *
+   * @param mountDirName hugetlbfs mount directory, e.g. {@code /mnt/huge}
+   * @param hugePageSize huge page size of the mount, e.g. 2m
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources useHugePagesDir(String mountDirName, int hugePageSize) {
+    if (!isDirectory(mountDirName)) {
+      return useShmDir();
+    }
+    return media(
+        mdc ->
+            mdc.aeronDirectoryName(generateRandomDirName(mountDirName))
+                .filePageSize(hugePageSize)
+                .termBufferSparseFile(true));
+  }
+
   /**
    * Shortcut for {@code numOfWorkers(1)}.
    *
@@ -272,6 +429,29 @@ public final class AeronResources implements OnDisposable {
     return c;
   }
 
+  int pollFragmentLimit() {
+    return pollFragmentLimit;
+  }
+
+  /**
+   * Settings upper bound of adaptive fragment limit for polling. If it's greater than {@link
+   * #pollFragmentLimit(int)} then inbound agents grow their per-poll limit (up to this value)
+   * while there is a backlog and outstanding demand, and shrink it back to {@code
+   * pollFragmentLimit} when idle. By default adaptive mode is disabled.
+   *
+   * @param maxPollFragmentLimit max fragment limit for polling
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources maxPollFragmentLimit(int maxPollFragmentLimit) {
+    AeronResources c = copy();
+    c.maxPollFragmentLimit = maxPollFragmentLimit;
+    return c;
+  }
+
+  int maxPollFragmentLimit() {
+    return maxPollFragmentLimit;
+  }
+
   /**
    * Setter for supplier of {@code IdleStrategy} for worker thread(s).
    *
@@ -284,6 +464,93 @@ public final class AeronResources implements OnDisposable {
     return c;
   }
 
+  /**
+   * Setter for factory of worker threads, e.g. to set priority or daemon flag. Threads are renamed
+   * after creation.
+   *
+   * @param threadFactory factory of worker threads
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources workerThreadFactory(ThreadFactory threadFactory) {
+    AeronResources c = copy();
+    c.workerThreadFactory = threadFactory;
+    return c;
+  }
+
+  /**
+   * Setter for cpu affinity of worker threads, e.g. {@code CpuAffinity.cpus(2, 3)} pins the first
+   * worker to core 2 and the second one to core 3. By default worker threads are not pinned.
+   *
+   * @param cpuAffinity cpu affinity of worker threads
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources workerCpuAffinity(CpuAffinity cpuAffinity) {
+    AeronResources c = copy();
+    c.workerCpuAffinity = cpuAffinity;
+    return c;
+  }
+
+  /**
+   * Setter for supplier of {@code AeronEventLoopPlacement} which chooses worker thread for new
+   * connections, see {@link AeronEventLoopPlacement#leastLoaded()}. By default worker threads are
+   * chosen in round-robin fashion.
+   *
+   * @param s supplier of {@code AeronEventLoopPlacement}
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources eventLoopPlacementSupplier(Supplier<AeronEventLoopPlacement> s) {
+    AeronResources c = copy();
+    c.eventLoopPlacementSupplier = s;
+    return c;
+  }
+
+  /**
+   * Enables per-agent instrumentation of worker threads: work count, time spent in {@code doWork},
+   * max stall and removal cause of every inbound and outbound are exposed as aeron counters which
+   * can be read out-of-process with {@code AeronStat}, see {@link AeronAgentCounters}. Disabled by
+   * default.
+   *
+   * @param agentCounters whether agent counters are enabled
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources agentCounters(boolean agentCounters) {
+    AeronResources c = copy();
+    c.agentCounters = agentCounters;
+    return c;
+  }
+
+  /**
+   * Enables duty cycle watchdog of worker threads: cycle times are recorded into histogram and
+   * duty cycles which take longer than the given threshold (e.g. due to blocking fragment mapper or
+   * inbound subscriber) are logged together with the offending agent, see {@link StallDetector}.
+   * Duty cycles which are still in progress are checked by a dedicated daemon thread. Disabled by
+   * default.
+   *
+   * @param stallThreshold duration of duty cycle work which is considered a stall
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources stallThreshold(Duration stallThreshold) {
+    AeronResources c = copy();
+    c.stallThreshold = stallThreshold;
+    return c;
+  }
+
+  /**
+   * Enables migration of connections from worker threads whose duty cycle exceeds the given
+   * threshold to the least loaded worker thread, see {@link AeronEventLoopRebalancer}. By default
+   * connections stay on the worker thread they were placed on.
+   *
+   * @param threshold duty cycle (between 0 and 1) above which worker thread is overloaded
+   * @param interval rebalancing interval
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources rebalance(double threshold, Duration interval) {
+    AeronResources c = copy();
+    c.rebalanceThreshold = threshold;
+    c.rebalanceInterval = interval;
+    return c;
+  }
+
   /**
    * Starting up this resources instance if not started already.
    *
@@ -300,22 +567,114 @@ public final class AeronResources implements OnDisposable {
   private Mono<Void> doStart() {
     return Mono.fromRunnable(
         () -> {
-          mediaDriver = MediaDriver.launchEmbedded(mediaContext);
-
-          aeronContext.aeronDirectoryName(mediaDriver.aeronDirectoryName());
+          if (externalDriverDirectoryName == null) {
+            mediaDriver = MediaDriver.launchEmbedded(mediaContext);
+            aeronContext.aeronDirectoryName(mediaDriver.aeronDirectoryName());
+          } else {
+            aeronContext.aeronDirectoryName(externalDriverDirectoryName);
+          }
 
           aeron = Aeron.connect(aeronContext);
+          warnIfNotMemoryBacked(aeronContext.aeronDirectoryName());
 
           eventLoopGroup =
-              new AeronEventLoopGroup("reactor-aeron", numOfWorkers, workerIdleStrategySupplier);
+              new AeronEventLoopGroup(
+                  "reactor-aeron",
+                  numOfWorkers,
+                  workerIdleStrategySupplier,
+                  eventLoopPlacementSupplier.get(),
+                  workerThreadFactory,
+                  workerCpuAffinity);
+
+          if (agentCounters) {
+            eventLoopGroup.agentMetrics(AgentMetrics.aeronCounters(aeron, scheduler::schedule));
+          }
+
+          if (stallThreshold != null) {
+            eventLoopGroup.detectStalls(stallThreshold, StallDetector.loggingListener());
+            long periodNs = stallThreshold.toNanos();
+            stallWatchdog = Schedulers.newSingle("AeronResources-stall-watchdog", true);
+            stallWatchdog.schedulePeriodically(
+                eventLoopGroup::checkStalls, periodNs, periodNs, TimeUnit.NANOSECONDS);
+          }
+
+          if (rebalanceThreshold > 0) {
+            rebalancer =
+                new AeronEventLoopRebalancer(
+                    eventLoopGroup, rebalanceThreshold, rebalanceInterval, scheduler);
+          }
+
+          if (externalDriverDirectoryName != null) {
+            long periodNs = driverReconnectInterval.toNanos();
+            driverWatchdog =
+                scheduler.schedulePeriodically(
+                    this::checkDriver, periodNs, periodNs, TimeUnit.NANOSECONDS);
+          }
 
           logger.debug(
-              "{} has initialized embedded media driver, aeron directory: {}",
+              "{} has initialized {} media driver, aeron directory: {}",
               this,
+              mediaDriver != null ? "embedded" : "external",
               aeronContext.aeronDirectoryName());
         });
   }
 
+  /** Logs warning if aeron directory is on file system which is not backed by memory. */
+  private static void warnIfNotMemoryBacked(String aeronDirectoryName) {
+    try {
+      String type = Files.getFileStore(Paths.get(aeronDirectoryName)).type();
+      if (!MEMORY_FILE_STORE_TYPES.contains(type)) {
+        logger.warn(
+            "Aeron directory {} is on {} file system, not tmpfs, first touch of term buffers "
+                + "may cause page faults, consider useShmDir()",
+            aeronDirectoryName,
+            type);
+      }
+    } catch (IOException e) {
+      logger.debug("Failed to check file system of aeron directory {}: {}", aeronDirectoryName, e);
+    }
+  }
+
+  /** Reconnects aeron client once it's closed due to lost external media driver. */
+  private void checkDriver() {
+    if (!aeron.isClosed() || dispose.isTerminated()) {
+      return;
+    }
+
+    String aeronDirectoryName = aeronContext.aeronDirectoryName();
+    if (!CommonContext.isDriverActive(
+        new File(aeronDirectoryName), aeronContext.driverTimeoutMs(), logger::trace)) {
+      logger.debug("{} is waiting for media driver in {}", this, aeronDirectoryName);
+      return;
+    }
+
+    try {
+      Aeron.Context context = new Aeron.Context();
+      copy(aeronContext, context);
+      Aeron newAeron = Aeron.connect(context);
+      // client closed by timeout may still hold its context resources, e.g. mapped cnc file
+      CloseHelper.quietClose(aeron);
+      aeron = newAeron;
+      if (agentCounters) {
+        eventLoopGroup.agentMetrics(AgentMetrics.aeronCounters(aeron, scheduler::schedule));
+      }
+      logger.info("{} has reconnected to media driver in {}", this, aeronDirectoryName);
+    } catch (Exception ex) {
+      logger.warn("{} failed to reconnect to media driver, cause: {}", this, ex.toString());
+    }
+  }
+
+  /**
+   * Returns whether aeron client is connected to media driver, i.e. it's not closed due to lost
+   * media driver.
+   *
+   * @return true if connected
+   */
+  public boolean isDriverConnected() {
+    Aeron aeron = this.aeron;
+    return aeron != null && !aeron.isClosed();
+  }
+
   /**
    * Shortcut method for {@code eventLoopGroup.next()}.
    *
@@ -343,12 +702,28 @@ public final class AeronResources implements OnDisposable {
    * @return mono result
    */
   public <T> Mono<AeronInbound<T>> inbound(String channel, int streamId, FragmentMapper<T> mapper) {
+    return inbound(channel, streamId, mapper, null);
+  }
+
+  /**
+   * Returns subscription inbound which registered in the given event loop.
+   *
+   * @param channel subscription channel
+   * @param streamId subscription stream id
+   * @param mapper mapper
+   * @param eventLoop event loop to pin the inbound to, or null to choose it by {@link
+   *     #nextEventLoop()}
+   * @return mono result
+   */
+  public <T> Mono<AeronInbound<T>> inbound(
+      String channel, int streamId, FragmentMapper<T> mapper, AeronEventLoop eventLoop) {
     return subscription(channel, streamId, null, null)
         .map(
             subscription -> {
-              AeronEventLoop eventLoop = nextEventLoop();
-              SubscriptionAgent<T> agent = new SubscriptionAgent<>(subscription, mapper, true);
-              eventLoop.register(agent);
+              SubscriptionAgent<T> agent = 
+                  new SubscriptionAgent<>(
+                      subscription, mapper, true, pollFragmentLimit, maxPollFragmentLimit);
+              register(agent, eventLoop);
               return agent;
             });
   }
@@ -363,6 +738,21 @@ public final class AeronResources implements OnDisposable {
    */
   public <T> Mono<AeronInbound<T>> imageInbound(
       String channel, int streamId, FragmentMapper<T> mapper) {
+    return imageInbound(channel, streamId, mapper, null);
+  }
+
+  /**
+   * Returns image inbound which registered in the given event loop.
+   *
+   * @param channel image channel
+   * @param streamId image stream id
+   * @param mapper mapper
+   * @param eventLoop event loop to pin the inbound to, or null to choose it by {@link
+   *     #nextEventLoop()}
+   * @return mono result
+   */
+  public <T> Mono<AeronInbound<T>> imageInbound(
+      String channel, int streamId, FragmentMapper<T> mapper, AeronEventLoop eventLoop) {
     return Mono.defer(
         () -> {
           if (!ChannelUri.parse(channel).containsKey(CommonContext.SESSION_ID_PARAM_NAME)) {
@@ -373,9 +763,15 @@ public final class AeronResources implements OnDisposable {
               .flatMap(subscription -> imageCallback)
               .map(
                   image -> {
-                    AeronEventLoop eventLoop = nextEventLoop();
-                    ImageAgent<T> agent = new ImageAgent<>(image, mapper, true);
-                    eventLoop.register(agent);
+                    ImageAgent<T> agent = 
+                        new ImageAgent<>(
+                            image,
+                            mapper,
+                            true,
+                            Aeron.NULL_VALUE,
+                            pollFragmentLimit,
+                            maxPollFragmentLimit);
+                    register(agent, eventLoop);
                     return agent;
                   });
         });
@@ -389,16 +785,70 @@ public final class AeronResources implements OnDisposable {
    * @return mono result
    */
   public Mono<AeronOutbound> outbound(String channel, int streamId) {
+    return outbound(channel, streamId, new PublicationOptions());
+  }
+
+  /**
+   * Returns outbound which registered in event loop.
+   *
+   * @param channel target channel
+   * @param streamId target stream id
+   * @param options publication options
+   * @return mono result
+   */
+  public Mono<AeronOutbound> outbound(String channel, int streamId, PublicationOptions options) {
+    return outbound(channel, streamId, options, null);
+  }
+
+  /**
+   * Returns outbound which registered in the given event loop.
+   *
+   * @param channel target channel
+   * @param streamId target stream id
+   * @param options publication options
+   * @param eventLoop event loop to pin the outbound to, or null to choose it by {@link
+   *     #nextEventLoop()}
+   * @return mono result
+   */
+  public Mono<AeronOutbound> outbound(
+      String channel, int streamId, PublicationOptions options, AeronEventLoop eventLoop) {
     return publication(channel, streamId)
         .map(
             publication -> {
-              AeronEventLoop eventLoop = nextEventLoop();
-              PublicationAgent agent = new PublicationAgent(publication);
-              eventLoop.register(agent);
+              PublicationAgent agent = new PublicationAgent(publication, options);
+              register(agent, eventLoop);
               return agent;
             });
   }
 
+  /**
+   * Registers inbound and outbound of the connection as a single {@link DuplexAgent}, so they are
+   * always run by the same thread.
+   *
+   * @param connection connection
+   * @param eventLoop event loop to pin the connection to, or null to choose it by {@link
+   *     #nextEventLoop()}
+   * @param priority priority lane of the connection within event loop
+   */
+  void register(AeronDuplex<?> connection, AeronEventLoop eventLoop, AgentPriority priority) {
+    register(
+        new DuplexAgent((Agent) connection.inbound(), (Agent) connection.outbound()),
+        eventLoop,
+        priority);
+  }
+
+  private void register(Agent agent, AeronEventLoop eventLoop) {
+    register(agent, eventLoop, AgentPriority.NORMAL);
+  }
+
+  private void register(Agent agent, AeronEventLoop eventLoop, AgentPriority priority) {
+    if (eventLoop != null) {
+      eventLoop.register(agent, true, priority);
+    } else {
+      nextEventLoop().register(agent, false, priority);
+    }
+  }
+
   /**
    * Creates aeron {@link ExclusivePublication}.
    *
@@ -521,6 +971,13 @@ public final class AeronResources implements OnDisposable {
   private Mono<Void> doDispose() {
     return Mono.fromRunnable(
         () -> {
+          CloseHelper.quietClose(rebalancer);
+          if (driverWatchdog != null) {
+            driverWatchdog.dispose();
+          }
+          if (stallWatchdog != null) {
+            stallWatchdog.dispose();
+          }
           CloseHelper.quietClose(eventLoopGroup);
           CloseHelper.quietClose(aeron);
           CloseHelper.quietClose(mediaDriver);
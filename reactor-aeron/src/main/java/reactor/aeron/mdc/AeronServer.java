@@ -85,6 +85,37 @@ public final class AeronServer {
             });
   }
 
+  /**
+   * Shortcut server settings for clients which share media driver with the server, see {@link
+   * #ipc(int)}. Uses {@link AeronOptions#DEFAULT_STREAM_ID}.
+   *
+   * @return new {@code AeronServer} with applied options
+   */
+  public AeronServer ipc() {
+    return ipc(AeronOptions.DEFAULT_STREAM_ID);
+  }
+
+  /**
+   * Shortcut server settings for clients which share media driver with the server.
+   *
+   * <p>Connections use {@code aeron:ipc} channels instead of UDP, routing of connections is the
+   * same: server accepts images of client sessions on {@code streamId} and responds on {@code
+   * streamId + 1} with XOR-ed session id. So {@code streamId} plays role of the server address and
+   * must be unique per media driver, both {@code streamId} and {@code streamId + 1} must be free.
+   *
+   * @param streamId server stream id
+   * @return new {@code AeronServer} with applied options
+   */
+  public AeronServer ipc(int streamId) {
+    return new AeronServer(options)
+        .options(
+            opts ->
+                opts.inboundUri(opts.inboundUri().ipc()) // Sub
+                    .outboundUri(opts.outboundUri().ipc()) // Pub(sessionId)
+                    .inboundStreamId(streamId)
+                    .outboundStreamId(streamId + 1));
+  }
+
   /**
    * Attach IO handler to react on connected client.
    *
@@ -1,5 +1,6 @@
 package reactor.aeron.mdc;
 
+import io.aeron.Aeron;
 import io.aeron.Image;
 import io.aeron.Subscription;
 import java.util.Map;
@@ -7,14 +8,11 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import org.agrona.CloseHelper;
 import org.agrona.DirectBuffer;
-import org.agrona.concurrent.Agent;
 import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.aeron.AeronDuplex;
-import reactor.aeron.AeronEventLoop;
 import reactor.aeron.DefaultAeronDuplex;
-import reactor.aeron.DefaultFragmentMapper;
 import reactor.aeron.ImageAgent;
 import reactor.aeron.OnDisposable;
 import reactor.aeron.PublicationAgent;
@@ -36,14 +34,10 @@ final class AeronServerHandler implements OnDisposable {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronServerHandler.class);
 
-  /** The stream ID that the server and client use for messages. */
-  private static final int STREAM_ID = 0xcafe0000;
-
   private final AeronOptions options;
   private final AeronResources resources;
   private final Function<? super AeronDuplex<DirectBuffer>, ? extends Publisher<Void>>
       handler;
-  private final DefaultFragmentMapper mapper = new DefaultFragmentMapper();
 
   private volatile Subscription acceptorSubscription; // server acceptor subscription
 
@@ -75,7 +69,10 @@ final class AeronServerHandler implements OnDisposable {
           logger.debug("Starting {} on: {}", this, acceptorChannel);
           return resources
               .subscription(
-                  acceptorChannel, STREAM_ID, this::onImageAvailable, this::onImageUnavailable)
+                  acceptorChannel,
+                  options.inboundStreamId(),
+                  this::onImageAvailable,
+                  this::onImageUnavailable)
               .doOnSuccess(s -> this.acceptorSubscription = s)
               .thenReturn(this)
               .doOnSuccess(handler -> logger.debug("Started {} on: {}", this, acceptorChannel))
@@ -105,11 +102,19 @@ final class AeronServerHandler implements OnDisposable {
         "{}: creating server connection: {}", Integer.toHexString(sessionId), outboundChannel);
 
     resources
-        .publication(outboundChannel, STREAM_ID)
+        .publication(outboundChannel, options.outboundStreamId())
         .map(
             publication -> {
-              PublicationAgent outbound = new PublicationAgent(publication);
-              ImageAgent<DirectBuffer> inbound = new ImageAgent<>(image, mapper, false);
+              PublicationAgent outbound =
+                  new PublicationAgent(publication, options.publicationOptions());
+              ImageAgent<DirectBuffer> inbound =
+                  new ImageAgent<>(
+                      image,
+                      options.fragmentMapper().get(),
+                      false,
+                      Aeron.NULL_VALUE,
+                      resources.pollFragmentLimit(),
+                      resources.maxPollFragmentLimit());
               return new DefaultAeronDuplex<>(inbound, outbound);
             })
         .doOnSuccess(
@@ -122,9 +127,7 @@ final class AeronServerHandler implements OnDisposable {
                 handler.apply(connection).subscribe(connection.disposeSubscriber());
               }
 
-              AeronEventLoop eventLoop = resources.nextEventLoop();
-              eventLoop.register((Agent) connection.inbound());
-              eventLoop.register((Agent) connection.outbound());
+              resources.register(connection, options.eventLoop(), options.priority());
               connections.put(sessionId, connection);
               connection.onDispose(() -> connections.remove(sessionId));
             })
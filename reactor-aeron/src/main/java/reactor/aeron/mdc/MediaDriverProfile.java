@@ -0,0 +1,69 @@
+package reactor.aeron.mdc;
+
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
+import java.util.function.UnaryOperator;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.BusySpinIdleStrategy;
+
+/**
+ * Named sets of {@link MediaDriver.Context} settings for typical deployments, see {@link
+ * AeronResources#mediaProfile(MediaDriverProfile)}. Profile only overrides settings listed below,
+ * all the others are left as they are, so profile can be refined afterwards with {@link
+ * AeronResources#media(UnaryOperator)}.
+ */
+public enum MediaDriverProfile implements UnaryOperator<MediaDriver.Context> {
+
+  /**
+   * Lowest and most stable latency at cost of cpu: dedicated busy spinning conductor, sender and
+   * receiver threads, fully allocated term buffers of 1m so page faults don't occur on hot path
+   * and log buffers stay small.
+   */
+  LOW_LATENCY {
+    @Override
+    public MediaDriver.Context apply(MediaDriver.Context mdc) {
+      return mdc.threadingMode(ThreadingMode.DEDICATED)
+          .conductorIdleStrategy(new BusySpinIdleStrategy())
+          .senderIdleStrategy(new BusySpinIdleStrategy())
+          .receiverIdleStrategy(new BusySpinIdleStrategy())
+          .termBufferSparseFile(false)
+          .publicationTermBufferLength(1024 * 1024)
+          .ipcTermBufferLength(1024 * 1024);
+    }
+  },
+
+  /**
+   * Highest throughput: dedicated threads, term buffers of 64m, socket buffers and initial window
+   * of 2m and mtu of 8k, so more data is in flight and less datagrams are sent.
+   */
+  HIGH_THROUGHPUT {
+    @Override
+    public MediaDriver.Context apply(MediaDriver.Context mdc) {
+      return mdc.threadingMode(ThreadingMode.DEDICATED)
+          .termBufferSparseFile(false)
+          .publicationTermBufferLength(64 * 1024 * 1024)
+          .ipcTermBufferLength(64 * 1024 * 1024)
+          .socketSndbufLength(2 * 1024 * 1024)
+          .socketRcvbufLength(2 * 1024 * 1024)
+          .initialWindowLength(2 * 1024 * 1024)
+          .mtuLength(8 * 1024)
+          .ipcMtuLength(8 * 1024);
+    }
+  },
+
+  /**
+   * Least memory and cpu: single backing off thread for conductor, sender and receiver, sparse
+   * term buffers of 64k (minimal allowed length) and initial window of 32k.
+   */
+  LOW_FOOTPRINT {
+    @Override
+    public MediaDriver.Context apply(MediaDriver.Context mdc) {
+      return mdc.threadingMode(ThreadingMode.SHARED)
+          .sharedIdleStrategy(new BackoffIdleStrategy())
+          .termBufferSparseFile(true)
+          .publicationTermBufferLength(64 * 1024)
+          .ipcTermBufferLength(64 * 1024)
+          .initialWindowLength(32 * 1024);
+    }
+  }
+}
@@ -0,0 +1,530 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static reactor.aeron.AeronAgentCounters.MAX_STALL_TYPE_ID;
+import static reactor.aeron.AeronAgentCounters.REMOVAL_CAUSE_TYPE_ID;
+import static reactor.aeron.AeronAgentCounters.WORK_COUNT_TYPE_ID;
+import static reactor.aeron.AeronAgentCounters.WORK_TIME_TYPE_ID;
+
+import io.aeron.Aeron;
+import io.aeron.driver.MediaDriver;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.concurrent.Agent;
+import org.agrona.concurrent.AgentTerminationException;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.aeron.AgentMetrics.RemovalCause;
+
+class AeronEventLoopGroupTest extends BaseAeronTest {
+
+  private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(50);
+
+  private AeronEventLoopGroup group;
+
+  @AfterEach
+  void afterEach() {
+    if (group != null) {
+      group.close();
+    }
+  }
+
+  @Test
+  public void testLeastLoadedPlacementSpreadsIdleEventLoopsEvenly() {
+    group = createGroup(AeronEventLoopPlacement.leastLoaded(SAMPLE_INTERVAL));
+
+    Map<AeronEventLoop, Integer> placements = new HashMap<>();
+    for (int i = 0; i < 4; i++) {
+      placements.merge(group.next(), 1, Integer::sum);
+    }
+
+    assertEquals(2, placements.size());
+    placements.values().forEach(count -> assertEquals(2, (int) count));
+  }
+
+  @Test
+  public void testLeastLoadedPlacementAvoidsBusyEventLoop() throws Exception {
+    group = createGroup(AeronEventLoopPlacement.leastLoaded(SAMPLE_INTERVAL));
+
+    Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+    AeronEventLoop busy = group.next();
+    busy.register(new BusyAgent());
+
+    Thread.sleep(SAMPLE_INTERVAL.toMillis() * 3);
+
+    AeronEventLoop idle = group.next();
+    assertSame(idle, group.next());
+    assertSame(idle, group.next());
+    assertEquals(1, busy.agentCount());
+    assertTrue(busy.workCount() > idle.workCount());
+  }
+
+  @Test
+  public void testMigratedAgentKeepsRunningWithoutRestart() throws Exception {
+    group = createGroup(AeronEventLoopPlacement.roundRobin());
+    Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+    AeronEventLoop source = group.next();
+    AeronEventLoop target = group.next();
+    BusyAgent agent = new BusyAgent();
+    source.register(agent);
+    awaitAgentCount(source, 1);
+
+    source.migrate(agent, target);
+    awaitAgentCount(source, 0);
+    awaitAgentCount(target, 1);
+
+    long workCount = target.workCount();
+    Thread.sleep(SAMPLE_INTERVAL.toMillis());
+    assertTrue(target.workCount() > workCount);
+    assertEquals(1, agent.starts.get());
+    assertEquals(0, agent.closes.get());
+  }
+
+  @Test
+  public void testRebalancerMigratesAgentOffBusyEventLoop() throws Exception {
+    group = createGroup(AeronEventLoopPlacement.roundRobin());
+    Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+    AeronEventLoop busy = group.next();
+    AeronEventLoop idle = group.next();
+    busy.register(new BusyAgent());
+    busy.register(new BusyAgent());
+    awaitAgentCount(busy, 2);
+
+    try (AeronEventLoopRebalancer rebalancer =
+        new AeronEventLoopRebalancer(group, 0.5, Duration.ofHours(1))) {
+      Thread.sleep(SAMPLE_INTERVAL.toMillis());
+      assertTrue(rebalancer.rebalance());
+      awaitAgentCount(busy, 1);
+      assertFalse(rebalancer.rebalance());
+    }
+
+    awaitAgentCount(idle, 1);
+  }
+
+  @Test
+  public void testWorkerThreadsAreCreatedByThreadFactoryAndBound() throws Exception {
+    AtomicInteger createdThreads = new AtomicInteger();
+    Map<Integer, String> boundThreads = new ConcurrentHashMap<>();
+
+    group =
+        new AeronEventLoopGroup(
+            "test",
+            2,
+            BackoffIdleStrategy::new,
+            AeronEventLoopPlacement.roundRobin(),
+            runnable -> {
+              createdThreads.incrementAndGet();
+              Thread thread = new Thread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            },
+            workerId -> boundThreads.put(workerId, Thread.currentThread().getName()));
+
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (boundThreads.size() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+
+    assertEquals(2, createdThreads.get());
+    assertEquals(2, boundThreads.size());
+    assertTrue(group.first().toString().contains(boundThreads.get(0)));
+  }
+
+  @Test
+  public void testEventLoopRunsWithTasksetCpuAffinity() throws Exception {
+    group =
+        new AeronEventLoopGroup(
+            "test",
+            1,
+            BackoffIdleStrategy::new,
+            AeronEventLoopPlacement.roundRobin(),
+            Thread::new,
+            CpuAffinity.cpus(0));
+
+    // event loop starts only after taskset has bound its thread, which may take a while
+    AeronEventLoop eventLoop = group.next();
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (eventLoop.dutyCycles() == 0 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    eventLoop.register(new BusyAgent());
+    awaitAgentCount(eventLoop, 1);
+
+    long workCount = eventLoop.workCount();
+    Thread.sleep(SAMPLE_INTERVAL.toMillis());
+    assertTrue(eventLoop.workCount() > workCount);
+  }
+
+  @Test
+  public void testAgentCountersRecordWorkAndRemovalCause() throws Exception {
+    try (MediaDriver mediaDriver =
+            MediaDriver.launchEmbedded(
+                new MediaDriver.Context().dirDeleteOnStart(true).dirDeleteOnShutdown(true));
+        Aeron aeron =
+            Aeron.connect(
+                new Aeron.Context().aeronDirectoryName(mediaDriver.aeronDirectoryName()))) {
+
+      group = createGroup(AeronEventLoopPlacement.roundRobin());
+      try {
+        group.agentMetrics(AgentMetrics.aeronCounters(aeron, ForkJoinPool.commonPool()));
+        Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+        AeronEventLoop eventLoop = group.next();
+        BusyAgent busy = new BusyAgent();
+        eventLoop.register(busy);
+        eventLoop.register(new FailingAgent());
+        eventLoop.register(new TerminatingAgent());
+        awaitAgentCount(eventLoop, 1);
+        Thread.sleep(SAMPLE_INTERVAL.toMillis());
+
+        Map<Integer, Long> values = readAgentCounters(aeron);
+        assertTrue(values.get(WORK_COUNT_TYPE_ID) > 0);
+        assertTrue(values.get(WORK_TIME_TYPE_ID) > 0);
+        assertTrue(values.get(MAX_STALL_TYPE_ID) > 0);
+        assertEquals(0, (long) values.get(REMOVAL_CAUSE_TYPE_ID));
+        assertEquals(RemovalCause.FAILED.code(), readRemovalCause(aeron, "failing"));
+        assertEquals(RemovalCause.COMPLETED.code(), readRemovalCause(aeron, "terminating"));
+
+        // counters move along with migrated agent and keep its history
+        AeronEventLoop target = group.next();
+        eventLoop.migrate(busy, target);
+        awaitAgentCount(target, 1);
+        Thread.sleep(SAMPLE_INTERVAL.toMillis());
+
+        Map<Integer, Long> migrated = readAgentCounters(aeron);
+        assertTrue(migrated.get(WORK_COUNT_TYPE_ID) > values.get(WORK_COUNT_TYPE_ID));
+        assertEquals(0, (long) migrated.get(REMOVAL_CAUSE_TYPE_ID));
+        assertEquals(4, (long) migrated.get(0));
+      } finally {
+        // event loops write into counters, so they must stop before aeron is closed
+        group.close();
+        group = null;
+      }
+    }
+  }
+
+  @Test
+  public void testStallDetectorFlagsBlockingAgent() throws Exception {
+    List<String> stalls = new CopyOnWriteArrayList<>();
+
+    group = createGroup(AeronEventLoopPlacement.roundRobin());
+    group.detectStalls(
+        SAMPLE_INTERVAL,
+        (eventLoop, agent, durationNs, inProgress) -> stalls.add(agent + ":" + inProgress));
+    Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+    AeronEventLoop eventLoop = group.next();
+    CountDownLatch blocked = new CountDownLatch(1);
+    eventLoop.register(new BlockingAgent(blocked, SAMPLE_INTERVAL.toMillis() * 4));
+
+    blocked.await();
+    Thread.sleep(SAMPLE_INTERVAL.toMillis() * 2);
+    group.checkStalls();
+
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (stalls.size() < 2 && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+
+    assertEquals(Arrays.asList("blocking:true", "blocking:false"), stalls);
+    assertEquals(1, eventLoop.stallDetector().stalls());
+    assertTrue(eventLoop.stallDetector().intervalHistogram().getTotalCount() > 0);
+  }
+
+  @Test
+  public void testIdleStrategyIsSwitchedAtRuntime() throws Exception {
+    group = createGroup(AeronEventLoopPlacement.roundRobin());
+    Thread.sleep(SAMPLE_INTERVAL.toMillis()); // let event loops start
+
+    AeronEventLoop eventLoop = group.next();
+    AdaptiveIdleStrategy idleStrategy = new AdaptiveIdleStrategy();
+    eventLoop.idleStrategy(idleStrategy);
+    assertSame(idleStrategy, eventLoop.idleStrategy());
+
+    eventLoop.register(new BusyAgent());
+    awaitAgentCount(eventLoop, 1);
+    long workCount = eventLoop.workCount();
+    Thread.sleep(SAMPLE_INTERVAL.toMillis());
+    assertTrue(eventLoop.workCount() > workCount);
+  }
+
+  @Test
+  public void testAdaptiveIdleStrategySpinsOnlyWhileTrafficIsDense() throws Exception {
+    AdaptiveIdleStrategy idleStrategy =
+        new AdaptiveIdleStrategy(
+            Duration.ofMillis(1), Duration.ZERO, Duration.ofNanos(1000), Duration.ofNanos(1000));
+
+    for (int i = 0; i < 100; i++) {
+      idleStrategy.idle(0);
+      idleStrategy.idle(1);
+    }
+    long denseSpinWindowNs = idleStrategy.spinWindowNs();
+    assertTrue(denseSpinWindowNs > 0 && denseSpinWindowNs <= Duration.ofMillis(1).toNanos());
+
+    for (int i = 0; i < 50; i++) {
+      idleStrategy.idle(0);
+      Thread.sleep(5);
+      idleStrategy.idle(1);
+    }
+    assertEquals(0, idleStrategy.spinWindowNs());
+  }
+
+  @Test
+  public void testAgentsAreRegisteredAndDeregisteredInBatches() {
+    group = createGroup(AeronEventLoopPlacement.roundRobin());
+    List<BusyAgent> agents = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      agents.add(new BusyAgent());
+    }
+
+    group.registerAll(agents).block(TIMEOUT);
+    AeronEventLoop[] eventLoops = group.eventLoops();
+    assertEquals(50, eventLoops[0].agentCount());
+    assertEquals(50, eventLoops[1].agentCount());
+    agents.forEach(agent -> assertEquals(1, agent.starts.get()));
+
+    for (AeronEventLoop eventLoop : eventLoops) {
+      eventLoop.deregisterAll(agents).block(TIMEOUT);
+      assertEquals(0, eventLoop.agentCount());
+    }
+    agents.forEach(agent -> assertEquals(1, agent.closes.get()));
+  }
+
+  @Test
+  public void testCompositeAgentRotatesStartAndKeepsOrderOnRemoval() {
+    List<String> runs = new CopyOnWriteArrayList<>();
+    Agent a = new RecordingAgent("a", runs);
+    Agent b = new RecordingAgent("b", runs);
+    Agent c = new RecordingAgent("c", runs);
+    DynamicCompositeAgent compositeAgent = new DynamicCompositeAgent("test", a, b, c);
+    compositeAgent.onStart();
+
+    for (int i = 0; i < 3; i++) {
+      compositeAgent.doWork();
+    }
+    assertEquals(Arrays.asList("a", "b", "c", "b", "c", "a", "c", "a", "b"), runs);
+
+    runs.clear();
+    compositeAgent.remove(b);
+    compositeAgent.add(new RecordingAgent("d", runs));
+    compositeAgent.doWork();
+    compositeAgent.doWork();
+    assertEquals(Arrays.asList("a", "c", "d", "c", "d", "a"), runs);
+
+    compositeAgent.onClose();
+    assertEquals(0, compositeAgent.agentCount());
+  }
+
+  @Test
+  public void testBulkLaneRunsEveryNthCycleWhileOtherLanesAreBusy() {
+    List<String> runs = new CopyOnWriteArrayList<>();
+    RecordingAgent normal = new RecordingAgent("normal", runs);
+    DynamicCompositeAgent compositeAgent = new DynamicCompositeAgent("test", normal);
+    compositeAgent.bulkInterval(4);
+    compositeAgent.onStart();
+    compositeAgent.add(new RecordingAgent("bulk", runs), false, AgentPriority.BULK);
+    compositeAgent.add(new RecordingAgent("high", runs), false, AgentPriority.HIGH);
+
+    normal.work = 1;
+    for (int i = 0; i < 8; i++) {
+      compositeAgent.doWork();
+    }
+    assertEquals(Arrays.asList("high", "normal", "bulk"), runs.subList(0, 3));
+    assertEquals(8, runs.stream().filter("high"::equals).count());
+    assertEquals(2, runs.stream().filter("bulk"::equals).count());
+
+    runs.clear();
+    normal.work = 0;
+    for (int i = 0; i < 8; i++) {
+      compositeAgent.doWork();
+    }
+    assertEquals(8, runs.stream().filter("bulk"::equals).count());
+
+    compositeAgent.onClose();
+  }
+
+  @Test
+  public void testTransferToFullCompositeKeepsAgentInSource() {
+    BusyAgent agent = new BusyAgent();
+    DynamicCompositeAgent source = new DynamicCompositeAgent("source", agent);
+    DynamicCompositeAgent target = new DynamicCompositeAgent("target", 2);
+    source.onStart();
+    target.onStart();
+    // fill the command queue of the target
+    target.add(new BusyAgent());
+    target.add(new BusyAgent());
+
+    source.transfer(agent, target);
+    assertEquals(1, source.doWork()); // agent keeps running in source
+    assertEquals(1, source.agentCount());
+    assertEquals(0, agent.closes.get());
+
+    target.doWork();
+    source.transfer(agent, target);
+    source.doWork();
+    target.doWork();
+    assertEquals(0, source.agentCount());
+    assertEquals(3, target.agentCount());
+    assertEquals(1, agent.starts.get());
+    assertEquals(0, agent.closes.get());
+
+    source.onClose();
+    target.onClose();
+  }
+
+  private static void awaitAgentCount(AeronEventLoop eventLoop, int agentCount)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (eventLoop.agentCount() != agentCount) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError(eventLoop + " has " + eventLoop.agentCount() + " agents");
+      }
+      Thread.sleep(1);
+    }
+  }
+
+  private static Map<Integer, Long> readAgentCounters(Aeron aeron) {
+    Map<Integer, Long> values = new HashMap<>();
+    aeron
+        .countersReader()
+        .forEach(
+            (counterId, typeId, keyBuffer, label) -> {
+              if (label.contains("busy")) {
+                values.put(typeId, aeron.countersReader().getCounterValue(counterId));
+                values.merge(0, 1L, Long::sum); // number of counters of busy agent
+              }
+            });
+    return values;
+  }
+
+  private static long readRemovalCause(Aeron aeron, String roleName) {
+    Map<Integer, Long> values = new HashMap<>();
+    aeron
+        .countersReader()
+        .forEach(
+            (counterId, typeId, keyBuffer, label) -> {
+              if (label.contains(roleName) && typeId == REMOVAL_CAUSE_TYPE_ID) {
+                values.put(typeId, aeron.countersReader().getCounterValue(counterId));
+              }
+            });
+    return values.getOrDefault(REMOVAL_CAUSE_TYPE_ID, -1L);
+  }
+
+  private static AeronEventLoopGroup createGroup(AeronEventLoopPlacement placement) {
+    return new AeronEventLoopGroup("test", 2, BackoffIdleStrategy::new, placement);
+  }
+
+  private static class BlockingAgent implements Agent {
+
+    private final CountDownLatch blocked;
+    private final long blockMillis;
+
+    private BlockingAgent(CountDownLatch blocked, long blockMillis) {
+      this.blocked = blocked;
+      this.blockMillis = blockMillis;
+    }
+
+    @Override
+    public int doWork() throws Exception {
+      blocked.countDown();
+      Thread.sleep(blockMillis);
+      return -1;
+    }
+
+    @Override
+    public String roleName() {
+      return "blocking";
+    }
+  }
+
+  private static class FailingAgent implements Agent {
+
+    @Override
+    public int doWork() {
+      throw new IllegalStateException("failing");
+    }
+
+    @Override
+    public String roleName() {
+      return "failing";
+    }
+  }
+
+  private static class TerminatingAgent implements Agent {
+
+    @Override
+    public int doWork() {
+      throw new AgentTerminationException();
+    }
+
+    @Override
+    public String roleName() {
+      return "terminating";
+    }
+  }
+
+  private static class RecordingAgent implements Agent {
+
+    private final String name;
+    private final List<String> runs;
+    private volatile int work;
+
+    private RecordingAgent(String name, List<String> runs) {
+      this.name = name;
+      this.runs = runs;
+    }
+
+    @Override
+    public int doWork() {
+      runs.add(name);
+      return work;
+    }
+
+    @Override
+    public String roleName() {
+      return name;
+    }
+  }
+
+  private static class BusyAgent implements Agent {
+
+    private final AtomicInteger starts = new AtomicInteger();
+    private final AtomicInteger closes = new AtomicInteger();
+
+    @Override
+    public void onStart() {
+      starts.incrementAndGet();
+    }
+
+    @Override
+    public void onClose() {
+      closes.incrementAndGet();
+    }
+
+    @Override
+    public int doWork() {
+      return 1;
+    }
+
+    @Override
+    public String roleName() {
+      return "busy";
+    }
+  }
+}
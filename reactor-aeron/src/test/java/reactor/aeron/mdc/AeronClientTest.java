@@ -1,5 +1,7 @@
 package reactor.aeron.mdc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static reactor.aeron.DefaultFragmentMapper.asString;
 
@@ -10,9 +12,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,9 +27,20 @@ import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.aeron.AeronDuplex;
+import reactor.aeron.AeronEventLoop;
+import reactor.aeron.AeronInbound;
+import reactor.aeron.BackpressurePolicy;
 import reactor.aeron.BaseAeronTest;
+import reactor.aeron.BufferPool;
+import reactor.aeron.DefaultFragmentMapper;
+import reactor.aeron.DirectBufferWriter;
+import reactor.aeron.FlyweightFragmentMapper;
 import reactor.aeron.OnDisposable;
+import reactor.aeron.PooledBuffer;
+import reactor.aeron.PooledFragmentMapper;
+import reactor.aeron.PublicationOptions;
 import reactor.aeron.SocketUtils;
+import reactor.core.Exceptions;
 import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
@@ -96,6 +113,61 @@ class AeronClientTest extends BaseAeronTest {
         .verify();
   }
 
+  @Test
+  public void testClientReceivesClaimedDataFromServer() {
+    char[] chars = new char[Configuration.mtuLength() * 2];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    DirectBufferWriter<String> asciiWriter =
+        new DirectBufferWriter<String>() {
+          @Override
+          public int length(String buffer) {
+            return buffer.length();
+          }
+
+          @Override
+          public void write(String buffer, MutableDirectBuffer destination, int offset) {
+            destination.putStringWithoutLengthAscii(offset, buffer);
+          }
+        };
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(Flux.fromStream(Stream.of("hello1", str, "3")).log("server"), asciiWriter)
+                .then(connection.onDispose()));
+
+    AeronDuplex<DirectBuffer> connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().map(asString()).log("client"))
+        .expectNext("hello1", str, "3")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testClientReceivesUtf8StringsFromServer() {
+    String[] strings = {"hello", "héllo", "привет", "你好", "😀 emoji", ""};
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.fromArray(strings).log("server"))
+                .then(connection.onDispose()));
+
+    AeronDuplex<DirectBuffer> connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().map(asString()).log("client"))
+        .expectNext(strings)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+  }
+
   @Test
   public void testTwoClientsReceiveDataFromServer() {
     createServer(
@@ -159,6 +231,358 @@ class AeronClientTest extends BaseAeronTest {
         .verify();
   }
 
+  @Test
+  public void testRequestResponseWithBatching() {
+    int count = 100_000;
+    int batchMaxBytes = 1024;
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.batchMaxBytes(batchMaxBytes))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(connection.inbound().receive().map(asString()))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .connect(opts -> opts.batchMaxBytes(batchMaxBytes).batchLinger(Duration.ofMillis(1)))
+            .block(TIMEOUT);
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    // small requests make batches to be split between polls
+    StepVerifier.create(connection1.inbound().receive().limitRate(3).map(asString()).take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testInboundReceivesBatchesOfTwoPublishersUnderLimitedDemand() {
+    int count = 50_000;
+    int streamId = 0x5000;
+    PublicationOptions options =
+        new PublicationOptions().batchMaxBytes(1024).batchLinger(Duration.ofMillis(1));
+
+    AeronInbound<DirectBuffer> inbound =
+        resources.inbound("aeron:ipc", streamId, new DefaultFragmentMapper()).block(TIMEOUT);
+    for (String publisher : Arrays.asList("a", "b")) {
+      resources
+          .outbound("aeron:ipc", streamId, options)
+          .flatMap(
+              outbound ->
+                  outbound
+                      .sendString(Flux.range(0, count).map(i -> publisher + i))
+                      .then())
+          .subscribe();
+    }
+
+    // small requests make batches of both images to be split between polls
+    List<String> received =
+        inbound
+            .receive()
+            .limitRate(3)
+            .map(asString())
+            .take(2 * count)
+            .collectList()
+            .block(TIMEOUT);
+
+    for (String publisher : Arrays.asList("a", "b")) {
+      assertEquals(
+          IntStream.range(0, count).mapToObj(i -> publisher + i).collect(Collectors.toList()),
+          received.stream().filter(s -> s.startsWith(publisher)).collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testRequestResponseWithAdaptivePollFragmentLimit() {
+    int count = 100_000;
+
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .pollFragmentLimit(4)
+            .maxPollFragmentLimit(256)
+            .start()
+            .block();
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(connection.inbound().receive().map(asString()))
+                .then(connection.onDispose()));
+
+    AeronDuplex<DirectBuffer> connection1 = createConnection();
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().map(asString()).take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testRequestResponseOverIpc() {
+    AeronServer.create(resources)
+        .ipc()
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(connection.inbound().receive().map(asString()))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources).ipc().connect().block(TIMEOUT);
+    AeronDuplex<DirectBuffer> connection2 =
+        AeronClient.create(resources).ipc().connect().block(TIMEOUT);
+
+    connection1.outbound().sendString(Flux.just("1a", "1b")).then().subscribe();
+    connection2.outbound().sendString(Flux.just("2a", "2b")).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().map(asString()).take(2))
+        .expectNext("1a", "1b")
+        .expectComplete()
+        .verify(TIMEOUT);
+    StepVerifier.create(connection2.inbound().receive().map(asString()).take(2))
+        .expectNext("2a", "2b")
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerConnectionPinnedToEventLoop() {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources = new AeronResources().useTmpDir().numOfWorkers(2).start().block();
+
+    AeronEventLoop eventLoop = resources.firstEventLoop();
+    ReplayProcessor<String> threads = ReplayProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(options -> options.eventLoop(eventLoop))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(
+                        connection
+                            .inbound()
+                            .receive()
+                            .map(asString())
+                            .doOnNext(s -> threads.onNext(Thread.currentThread().getName())))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection = createConnection();
+    connection.outbound().sendString(Flux.range(0, 10).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection.inbound().receive().map(asString()).take(10))
+        .expectNextCount(10)
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    StepVerifier.create(threads.take(10))
+        .thenConsumeWhile(thread -> eventLoop.toString().contains(thread))
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testRequestResponseWithFlyweightFragmentMapper() {
+    int count = 100_000;
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.fragmentMapper(FlyweightFragmentMapper::new))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .send(connection.inbound().receive().map(FlyweightFragmentMapper::copy))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .connect(opts -> opts.fragmentMapper(FlyweightFragmentMapper::new))
+            .block(TIMEOUT);
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().map(asString()).take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesBatchesFromServer() {
+    int count = 100_000;
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronDuplex<DirectBuffer> connection1 = createConnection();
+
+    Flux<String> messages =
+        connection1
+            .inbound()
+            .receiveBatches()
+            .limitRate(2)
+            .map(
+                batch -> {
+                  // batch is valid only during onNext
+                  List<String> strings = new ArrayList<>(batch.size());
+                  batch.forEach(buffer -> strings.add(asString().apply(buffer)));
+                  return strings;
+                })
+            .concatMapIterable(strings -> strings);
+
+    StepVerifier.create(messages.take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testRequestResponseWithPooledBuffers() {
+    int count = 100_000;
+    BufferPool pool = new BufferPool();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.fragmentMapper(() -> new PooledFragmentMapper(pool)))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .send(connection.inbound().receive(), PooledBuffer.releasingHandler())
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection1 = createConnection();
+
+    connection1.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(connection1.inbound().receive().map(asString()).take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testBackpressuredSendDropsOldestItems() {
+    createServer(connection -> connection.onDispose());
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .connect(
+                opts ->
+                    opts.backpressureTimeout(Duration.ofMillis(10))
+                        .backpressurePolicy(BackpressurePolicy.dropOldest()))
+            .block(TIMEOUT);
+
+    // server doesn't read inbound, so publication gets back pressured
+    StepVerifier.create(
+            connection1.outbound().sendString(Flux.range(0, 200_000).map(String::valueOf)).then())
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    assertFalse(connection1.isDisposed());
+  }
+
+  @Test
+  public void testBackpressuredSendDropsNewestItemsWithoutSpinningUpstream() throws Exception {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    // small term, so that slow upstream fills publication window quickly
+    resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .media(mdc -> mdc.publicationTermBufferLength(64 * 1024))
+            .start()
+            .block();
+
+    createServer(connection -> connection.onDispose());
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .connect(
+                opts ->
+                    opts.backpressureTimeout(Duration.ofMillis(10))
+                        .backpressurePolicy(BackpressurePolicy.dropNewest()))
+            .block(TIMEOUT);
+
+    // server doesn't read inbound, so publication gets back pressured while items are requested
+    AtomicLong generated = new AtomicLong();
+    connection1
+        .outbound()
+        .sendString(
+            Flux.<String>generate(sink -> sink.next(String.valueOf(generated.getAndIncrement())))
+                .delayElements(Duration.ofMillis(1)))
+        .then()
+        .subscribe();
+
+    long previous;
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    do {
+      previous = generated.get();
+      Thread.sleep(500);
+    } while (generated.get() != previous && System.nanoTime() < deadline);
+
+    // upstream is not requested for more items while they are dropped
+    assertEquals(previous, generated.get());
+    assertFalse(connection1.isDisposed());
+  }
+
+  @Test
+  public void testBackpressuredSendFailsWithoutTerminatingConnection() {
+    createServer(connection -> connection.onDispose());
+
+    AeronDuplex<DirectBuffer> connection1 =
+        AeronClient.create(resources)
+            .options("localhost", serverPort, serverControlPort)
+            .connect(
+                opts ->
+                    opts.backpressureTimeout(Duration.ofMillis(10))
+                        .backpressurePolicy(BackpressurePolicy.fail()))
+            .block(TIMEOUT);
+
+    // server doesn't read inbound, so publication gets back pressured
+    StepVerifier.create(
+            connection1.outbound().sendString(Flux.range(0, 200_000).map(String::valueOf)).then())
+        .expectErrorMatches(Exceptions::isOverflow)
+        .verify(TIMEOUT);
+
+    assertFalse(connection1.isDisposed());
+  }
+
   @Test
   public void testRequestResponse200000MonoJust() {
     int count = 200_000;
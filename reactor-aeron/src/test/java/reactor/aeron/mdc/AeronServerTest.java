@@ -2,10 +2,15 @@ package reactor.aeron.mdc;
 
 import static reactor.aeron.DefaultFragmentMapper.asString;
 
+import io.aeron.driver.MediaDriver;
+import io.aeron.driver.ThreadingMode;
 import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.agrona.DirectBuffer;
+import org.agrona.IoUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -88,6 +93,102 @@ class AeronServerTest extends BaseAeronTest {
     Assertions.assertTrue(new ThreadWatcher().awaitTerminated(5000, "single-", "parallel-"));
   }
 
+  @Test
+  public void testExternalDriverIsReconnectedAfterRestart() throws InterruptedException {
+    String aeronDirectoryName =
+        IoUtil.tmpDirName() + "aeron-external-" + UUID.randomUUID().toString();
+    MediaDriver.Context driverContext =
+        new MediaDriver.Context()
+            .aeronDirectoryName(aeronDirectoryName)
+            .threadingMode(ThreadingMode.SHARED)
+            .timerIntervalNs(TimeUnit.MILLISECONDS.toNanos(100))
+            .dirDeleteOnStart(true);
+
+    MediaDriver mediaDriver = MediaDriver.launch(driverContext.clone());
+    AeronResources external =
+        new AeronResources()
+            .externalDriver(aeronDirectoryName)
+            .driverReconnectInterval(Duration.ofMillis(100))
+            .aeron(context -> context.driverTimeoutMs(2000))
+            .singleWorker()
+            .start()
+            .block(TIMEOUT);
+    try {
+      Assertions.assertTrue(external.isDriverConnected());
+      assertIpcEcho(external, 0x1000);
+
+      mediaDriver.close();
+      awaitDriverConnected(external, false);
+
+      mediaDriver = MediaDriver.launch(driverContext.clone().dirDeleteOnShutdown(true));
+      awaitDriverConnected(external, true);
+      assertIpcEcho(external, 0x2000);
+    } finally {
+      external.dispose();
+      external.onDispose().block(TIMEOUT);
+      mediaDriver.close();
+    }
+  }
+
+  @Test
+  public void testServerEchoesDataWithLowFootprintProfile() {
+    AeronResources lowFootprint =
+        new AeronResources()
+            .useTmpDir()
+            .mediaProfile(MediaDriverProfile.LOW_FOOTPRINT)
+            .singleWorker()
+            .start()
+            .block(TIMEOUT);
+    try {
+      assertIpcEcho(lowFootprint, 0x3000);
+    } finally {
+      lowFootprint.dispose();
+      lowFootprint.onDispose().block(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void testServerEchoesDataWithShmDir() {
+    AeronResources shm = new AeronResources().useShmDir().singleWorker().start().block(TIMEOUT);
+    try {
+      assertIpcEcho(shm, 0x4000);
+    } finally {
+      shm.dispose();
+      shm.onDispose().block(TIMEOUT);
+    }
+  }
+
+  private static void assertIpcEcho(AeronResources resources, int streamId) {
+    AeronServer.create(resources)
+        .ipc(streamId)
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(connection.inbound().receive().map(asString()))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronDuplex<DirectBuffer> connection =
+        AeronClient.create(resources).ipc(streamId).connect().block(TIMEOUT);
+    connection.outbound().sendString(Flux.just("ping")).then().subscribe();
+
+    StepVerifier.create(connection.inbound().receive().map(asString()).take(1))
+        .expectNext("ping")
+        .expectComplete()
+        .verify(TIMEOUT);
+  }
+
+  private static void awaitDriverConnected(AeronResources resources, boolean connected)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (resources.isDriverConnected() != connected) {
+      Assertions.assertTrue(System.nanoTime() < deadline, "driver connected: " + !connected);
+      Thread.sleep(10);
+    }
+  }
+
   private AeronDuplex<DirectBuffer> createConnection() {
     return AeronClient.create(resources)
         .options("localhost", serverPort, serverControlPort)